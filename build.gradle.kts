@@ -23,6 +23,8 @@ dependencyManagement {
 
 dependencies {
     implementation(libs.spring.boot.starter.web)
+    implementation(libs.caffeine)
+    implementation(libs.redisson)
     compileOnly(libs.lombok)
     annotationProcessor(libs.lombok)
     annotationProcessor(libs.spring.boot.configuration.processor)
@@ -51,3 +53,61 @@ tasks.test {
     ignoreFailures = true
     useJUnitPlatform()
 }
+
+// profiling tasks
+// JFR 기록에서 포인트 단계별 지연 분포 출력: ./gradlew analyzeJfr -Pjfr=recording.jfr
+tasks.register<JavaExec>("analyzeJfr") {
+    group = "profiling"
+    description = "PointPhaseEvent JFR 기록을 단계별 p50/p90/p99로 요약합니다"
+    classpath = sourceSets["main"].runtimeClasspath
+    mainClass.set("io.hhplus.tdd.point.PointJfrAnalyzer")
+    args(project.findProperty("jfr")?.toString() ?: "recording.jfr")
+}
+
+// 비관적/낙관적 모드 충전 처리량 측정 (README 4.4): ./gradlew benchmarkConcurrency -Pseconds=10 -Pwarmup=3
+tasks.register<JavaExec>("benchmarkConcurrency") {
+    group = "profiling"
+    description = "PESSIMISTIC/OPTIMISTIC 모드의 충전 처리량을 시나리오별로 측정합니다"
+    classpath = sourceSets["test"].runtimeClasspath
+    mainClass.set("io.hhplus.tdd.point.PointConcurrencyBenchmark")
+    args(project.findProperty("seconds")?.toString() ?: "10", project.findProperty("warmup")?.toString() ?: "3")
+}
+
+// 충전/사용 한 건당 outbox 추가 비용 측정 (README 4.6): ./gradlew benchmarkOutbox -Pevents=10000000
+tasks.register<JavaExec>("benchmarkOutbox") {
+    group = "profiling"
+    description = "PointOutbox 추가 비용을 1스레드/8스레드로 측정합니다"
+    classpath = sourceSets["test"].runtimeClasspath
+    mainClass.set("io.hhplus.tdd.point.PointOutboxBenchmark")
+    args(project.findProperty("events")?.toString() ?: "2000000")
+}
+
+// 전용 JSON 변환기와 기본 Jackson 변환기의 응답 기록 비용 비교 (README 4.8): ./gradlew benchmarkJson -Piterations=1000000
+tasks.register<JavaExec>("benchmarkJson") {
+    group = "profiling"
+    description = "PointJsonHttpMessageConverter와 MappingJackson2HttpMessageConverter의 건당 시간/할당량을 비교합니다"
+    classpath = sourceSets["test"].runtimeClasspath
+    mainClass.set("io.hhplus.tdd.point.PointJsonBenchmark")
+    args(project.findProperty("iterations")?.toString() ?: "1000000")
+}
+
+// Lock 제공자별 획득/fencing 검사/해제 지연 측정 (README 4.5): ./gradlew benchmarkLock -Pops=20000 -ProundTripMicros=200
+tasks.register<JavaExec>("benchmarkLock") {
+    group = "profiling"
+    description = "memory/lease Lock 제공자의 연산당 지연과 원격 왕복 횟수를 시나리오별로 측정합니다"
+    classpath = sourceSets["test"].runtimeClasspath
+    mainClass.set("io.hhplus.tdd.point.PointLockBenchmark")
+    args(project.findProperty("ops")?.toString() ?: "20000", project.findProperty("roundTripMicros")?.toString() ?: "200")
+}
+
+// 정합성 점검 1회 소요 시간 측정 (README 4.7): ./gradlew benchmarkReconciliation -Phistories=10000000 -Pusers=1000000
+tasks.register<JavaExec>("benchmarkReconciliation") {
+    group = "profiling"
+    description = "PointHistoryLog/PointSnapshotStore를 직접 채운 뒤 PointReconciler 점검 시간을 측정합니다"
+    classpath = sourceSets["test"].runtimeClasspath
+    mainClass.set("io.hhplus.tdd.point.PointReconcilerBenchmark")
+    maxHeapSize = "4g"
+    args(project.findProperty("histories")?.toString() ?: "10000000",
+            project.findProperty("users")?.toString() ?: "1000000",
+            project.findProperty("parallelism")?.toString() ?: "0")
+}
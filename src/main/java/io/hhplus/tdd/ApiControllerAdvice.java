@@ -13,6 +13,11 @@ class ApiControllerAdvice extends ResponseEntityExceptionHandler {
         return ResponseEntity.status(400).body(new ErrorResponse("400",e.getMessage()));
     }
 
+    @ExceptionHandler(value=ServiceUnavailableException.class)
+    public ResponseEntity<ErrorResponse> handleServiceUnavailableException(ServiceUnavailableException e) {
+        return ResponseEntity.status(503).body(new ErrorResponse("503",e.getMessage()));
+    }
+
 
     @ExceptionHandler(value = Exception.class)
     public ResponseEntity<ErrorResponse> handleException(Exception e) {
@@ -0,0 +1,11 @@
+package io.hhplus.tdd;
+
+/**
+ * 일시적으로 요청을 처리할 수 없을 때 (503)
+ */
+public class ServiceUnavailableException extends RuntimeException {
+
+    public ServiceUnavailableException(String message) {
+        super(message);
+    }
+}
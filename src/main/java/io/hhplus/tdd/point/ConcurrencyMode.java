@@ -0,0 +1,10 @@
+package io.hhplus.tdd.point;
+
+/**
+ * 포인트 충전/사용의 동시성 제어 방식
+ * - PESSIMISTIC : 조회부터 저장까지 사용자 Lock을 쥐고 처리
+ * - OPTIMISTIC : Lock 없이 조회/검증/계산 후, 커밋 시점에 버전이 그대로인 경우에만 저장 (충돌 시 재시도)
+ */
+public enum ConcurrencyMode {
+    PESSIMISTIC, OPTIMISTIC
+}
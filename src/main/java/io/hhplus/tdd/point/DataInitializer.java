@@ -1,40 +1,208 @@
 package io.hhplus.tdd.point;
 
-import io.hhplus.tdd.database.PointHistoryTable;
-import io.hhplus.tdd.database.UserPointTable;
-import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
 import org.springframework.stereotype.Component;
 
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 초기 데이터 적재
+ * 애플리케이션 기동 후 parallelism개의 작업 스레드가 사용자 단위로 나눠 적재하며, 한 사용자의 데이터는 한 스레드가 순서대로 적재한다.
+ * 적재는 충전/사용과 같이 사용자 Lock 안에서 테이블에 쓰므로, 서로 다른 사용자를 동시에 쓰는 것은 일반 요청과 같은 조건이다.
+ * 모든 사용자를 실패 없이 적재하기 전까지 isReady()는 false를 반환하며, 그동안 충전/사용 요청은 503으로 거절된다.
+ * (readiness probe는 GET /point/metrics/readiness)
+ * synthetic 사용자 수를 설정하면 성능 테스트용 데이터를 추가로 생성한다.
+ * - 사용자별 내역 수는 Zipf 분포(지수 zipf-exponent)를 따르며 평균은 histories-per-user
+ * - 잔액은 생성된 내역의 충전 합계 - 사용 합계와 같다
+ */
 @Component
 public class DataInitializer {
 
-    private final UserPointTable userPointTable;
-    private final PointHistoryTable pointHistoryTable;
+    private static final Logger log = LoggerFactory.getLogger(DataInitializer.class);
+
+    private static final int DUMMY_USER_COUNT = 3;
+    private static final long SYNTHETIC_UNIT = 100L;
+
+    private final PointService pointService;
+    private final int parallelism;
+    private final long syntheticUsers;
+    private final long historiesPerUser;
+    private final double zipfExponent;
+    private final long syntheticFirstUserId;
+    private final long randomSeed;
+    private final double zipfNormalizer;
 
-    public DataInitializer(UserPointTable userPointTable, PointHistoryTable pointHistoryTable) {
-        this.userPointTable = userPointTable;
-        this.pointHistoryTable = pointHistoryTable;
+    private final AtomicLong nextIndex = new AtomicLong();
+    private final AtomicLong seededUsers = new AtomicLong();
+    private final AtomicLong failedUsers = new AtomicLong();
+    private volatile boolean ready;
+
+    public DataInitializer(PointService pointService,
+                           @Value("${point.seed.parallelism:16}") int parallelism,
+                           @Value("${point.seed.synthetic.users:0}") long syntheticUsers,
+                           @Value("${point.seed.synthetic.histories-per-user:5}") long historiesPerUser,
+                           @Value("${point.seed.synthetic.zipf-exponent:1.0}") double zipfExponent,
+                           @Value("${point.seed.synthetic.first-user-id:1000}") long syntheticFirstUserId,
+                           @Value("${point.seed.synthetic.random-seed:42}") long randomSeed) {
+        this.pointService = pointService;
+        this.parallelism = Math.max(1, parallelism);
+        this.syntheticUsers = Math.max(0, syntheticUsers);
+        this.historiesPerUser = Math.max(0, historiesPerUser);
+        this.zipfExponent = zipfExponent;
+        this.syntheticFirstUserId = syntheticFirstUserId;
+        this.randomSeed = randomSeed;
+        this.zipfNormalizer = harmonic(this.syntheticUsers, zipfExponent);
     }
 
-    @PostConstruct
+    @EventListener(ApplicationReadyEvent.class)
     public void init() {
-        System.out.println("더미 데이터 초기화 시작...");
+        Thread starter = new Thread(this::seedAll, "point-seed");
+        starter.setDaemon(true);
+        starter.start();
+    }
+
+    /**
+     * 모든 사용자를 실패 없이 적재했으면 true (적재 중이거나 실패한 사용자가 있으면 false)
+     */
+    public boolean isReady() {
+        return ready;
+    }
+
+    public SeedProgress progress() {
+        return new SeedProgress(ready, seededUsers.get(), failedUsers.get(), totalUsers());
+    }
 
-        // 사용자 1: 5000 포인트 보유
-        userPointTable.insertOrUpdate(1L, 5000L);
-        pointHistoryTable.insert(1L, 5000L, TransactionType.CHARGE, System.currentTimeMillis());
+    private long totalUsers() {
+        return DUMMY_USER_COUNT + syntheticUsers;
+    }
+
+    //목적 : 작업 스레드들이 사용자 인덱스를 하나씩 가져가며 적재하고, 실패한 사용자가 없을 때만 준비 완료로 전환
+    // (사용자 수와 관계없이 작업 큐 메모리가 일정)
+    void seedAll() {
+        long start = System.nanoTime();
+        log.info("더미 데이터 초기화 시작... (synthetic 사용자 {}명, 병렬도 {})", syntheticUsers, parallelism);
 
-        // 사용자 2: 10000 포인트 보유, 충전 및 사용 내역 있음
-        userPointTable.insertOrUpdate(2L, 10000L);
-        pointHistoryTable.insert(2L, 15000L, TransactionType.CHARGE, System.currentTimeMillis());
-        pointHistoryTable.insert(2L, 5000L, TransactionType.USE, System.currentTimeMillis());
+        Thread[] workers = new Thread[parallelism];
+        for (int i = 0; i < parallelism; i++) {
+            workers[i] = new Thread(this::seedUsers, "point-seed-" + i);
+            workers[i].setDaemon(true);
+            workers[i].start();
+        }
+        try {
+            for (Thread worker : workers) {
+                worker.join();
+            }
+        } catch (InterruptedException e) {
+            for (Thread worker : workers) {
+                worker.interrupt();
+            }
+            Thread.currentThread().interrupt();
+            log.warn("더미 데이터 초기화가 중단되었습니다. 적재된 사용자: {}명", seededUsers.get());
+            return;
+        }
 
-        // 사용자 3: 0 포인트 (빈 계정)
-        userPointTable.insertOrUpdate(3L, 0L);
+        if (seededUsers.get() + failedUsers.get() < totalUsers()) {
+            log.warn("더미 데이터 초기화가 중단되었습니다. 적재된 사용자: {}명", seededUsers.get());
+            return;
+        }
+        if (failedUsers.get() > 0) {
+            log.error("더미 데이터 초기화에 실패한 사용자가 있어 트래픽을 받지 않습니다. 성공 {}명, 실패 {}명",
+                    seededUsers.get(), failedUsers.get());
+            return;
+        }
+        ready = true;
+        log.info("더미 데이터 초기화 완료! 사용자 {}명, {}ms", seededUsers.get(),
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        log.info("- 사용자 1: 5000 포인트");
+        log.info("- 사용자 2: 10000 포인트 (충전/사용 이력 포함)");
+        log.info("- 사용자 3: 0 포인트");
+    }
+
+    private void seedUsers() {
+        long total = totalUsers();
+        long index;
+        while (!Thread.currentThread().isInterrupted() && (index = nextIndex.getAndIncrement()) < total) {
+            try {
+                if (index < DUMMY_USER_COUNT) {
+                    seedDummyUser((int) index);
+                } else {
+                    seedSyntheticUser(index - DUMMY_USER_COUNT);
+                }
+                seededUsers.incrementAndGet();
+            } catch (RuntimeException e) {
+                failedUsers.incrementAndGet();
+                log.error("사용자 데이터 적재에 실패했습니다. index={}", index, e);
+            }
+        }
+    }
+
+    private void seedDummyUser(int index) {
+        switch (index) {
+            case 0 -> {
+                // 사용자 1: 5000 포인트 보유
+                pointService.seedPoint(1L, 5000L);
+                pointService.seedHistory(1L, 5000L, TransactionType.CHARGE);
+            }
+            case 1 -> {
+                // 사용자 2: 10000 포인트 보유, 충전 및 사용 내역 있음
+                pointService.seedPoint(2L, 10000L);
+                pointService.seedHistory(2L, 15000L, TransactionType.CHARGE);
+                pointService.seedHistory(2L, 5000L, TransactionType.USE);
+            }
+            default -> {
+                // 사용자 3: 0 포인트 (빈 계정)
+                pointService.seedPoint(3L, 0L);
+            }
+        }
+    }
+
+    //목적 : Zipf 분포로 정한 수만큼 내역을 만들고, 내역 합계와 같은 잔액으로 사용자 적재
+    private void seedSyntheticUser(long index) {
+        long userId = syntheticFirstUserId + index;
+        SplittableRandom random = new SplittableRandom(randomSeed ^ userId);
+        long historyCount = syntheticHistoryCount(index, random);
+
+        long balance = 0;
+        for (long i = 0; i < historyCount; i++) {
+            long amount = random.nextLong(10, 1_001) * SYNTHETIC_UNIT;
+            if (balance >= amount && random.nextInt(10) < 3) {
+                pointService.seedHistory(userId, amount, TransactionType.USE);
+                balance -= amount;
+            } else {
+                pointService.seedHistory(userId, amount, TransactionType.CHARGE);
+                balance += amount;
+            }
+        }
+        pointService.seedPoint(userId, balance);
+    }
+
+    //목적 : rank(=index+1)의 기대 내역 수(전체 내역 수 * rank^-s / H(n, s))를 구하고, 소수 부분은 확률적으로 올림
+    long syntheticHistoryCount(long index, SplittableRandom random) {
+        double expected = (double) syntheticUsers * historiesPerUser
+                * Math.pow(index + 1, -zipfExponent) / zipfNormalizer;
+        return (long) expected + ((random.nextDouble() < expected - (long) expected) ? 1 : 0);
+    }
+
+    //목적 : Zipf 분포 정규화 상수 (일반화 조화수 H(n, s))
+    private static double harmonic(long n, double exponent) {
+        double sum = 0;
+        for (long k = 1; k <= n; k++) {
+            sum += Math.pow(k, -exponent);
+        }
+        return sum;
+    }
 
-        System.out.println("더미 데이터 초기화 완료!");
-        System.out.println("- 사용자 1: 5000 포인트");
-        System.out.println("- 사용자 2: 10000 포인트 (충전/사용 이력 포함)");
-        System.out.println("- 사용자 3: 0 포인트");
+    public record SeedProgress(
+            boolean ready,
+            long seededUsers,
+            long failedUsers,
+            long totalUsers
+    ) {
     }
 }
@@ -0,0 +1,94 @@
+package io.hhplus.tdd.point;
+
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedWriter;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+/**
+ * 포인트 변경을 NDJSON 파일 끝에 한 줄씩 추가하는 sink (메시지 브로커 대신 사용하는 로컬 대체 구현)
+ * 배치 단위로 flush 하며, fsync 설정 시 배치마다 디스크 동기화까지 마친 뒤 성공으로 본다.
+ */
+@Component
+public class FilePointEventSink implements PointEventSink {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final Path path;
+    private final boolean fsync;
+    // 배치마다 재사용하는 버퍼 (relay 스레드 하나만 사용)
+    private final StringBuilder line = new StringBuilder(160);
+    private FileOutputStream out;
+    private BufferedWriter writer;
+
+    public FilePointEventSink(@Value("${point.outbox.file.path:build/outbox/point-events.ndjson}") String path,
+                              @Value("${point.outbox.file.fsync:false}") boolean fsync) {
+        this.path = Path.of(path);
+        this.fsync = fsync;
+    }
+
+    @Override
+    public synchronized void send(List<PointOutbox.OutboxEvent> batch) {
+        try {
+            BufferedWriter target = writer();
+            for (PointOutbox.OutboxEvent event : batch) {
+                line.setLength(0);
+                line.append("{\"epoch\":").append(event.epoch())
+                        .append(",\"offset\":").append(event.offset())
+                        .append(",\"historyId\":").append(event.historyId())
+                        .append(",\"userId\":").append(event.userId())
+                        .append(",\"type\":\"").append(event.type().name())
+                        .append("\",\"amount\":").append(event.amount())
+                        .append(",\"balance\":").append(event.balance())
+                        .append(",\"updateMillis\":").append(event.updateMillis())
+                        .append("}\n");
+                target.append(line);
+            }
+            target.flush();
+            if (fsync) {
+                out.getChannel().force(false);
+            }
+        } catch (IOException e) {
+            // 쓰다 만 파일 핸들은 버리고 다음 전송에서 다시 연다
+            close();
+            throw new UncheckedIOException("포인트 변경 파일 기록에 실패했습니다: " + path, e);
+        }
+    }
+
+    @PreDestroy
+    public synchronized void close() {
+        if (writer == null) {
+            return;
+        }
+        try {
+            writer.close();
+        } catch (IOException ignored) {
+            // 종료 중이므로 무시
+        } finally {
+            writer = null;
+            out = null;
+        }
+    }
+
+    //목적 : 첫 전송 시점에 파일을 연다 (outbox를 쓰지 않으면 파일을 만들지 않음)
+    private BufferedWriter writer() throws IOException {
+        if (writer == null) {
+            Path parent = path.toAbsolutePath().getParent();
+            if (parent != null) {
+                Files.createDirectories(parent);
+            }
+            out = new FileOutputStream(path.toFile(), true);
+            writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), BUFFER_SIZE);
+        }
+        return writer;
+    }
+}
@@ -0,0 +1,288 @@
+package io.hhplus.tdd.point;
+
+import io.hhplus.tdd.database.UserPointTable;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 읽기 전용 경로의 UserPointTable.selectById를 헤징(hedging)하는 클래스
+ * 첫 조회는 호출 스레드에서 실행하고, 지연 시간 안에 끝나지 않으면 같은 조회를 헤징 스레드에서 한 번 더 보내 먼저 끝난 결과를 사용한다.
+ * 진 쪽 조회는 인터럽트하여 테이블 대기를 바로 끝낸다. (UserPointTable은 인터럽트되면 대기를 멈추고 조회 결과를 반환)
+ * 추가 조회 수는 전체 조회 수의 maxExtraRatio 이하로 제한하고, 헤징 스레드가 모두 사용 중이면 헤징 없이 첫 조회만 기다린다.
+ */
+@Component
+public class HedgedUserPointReader {
+
+    private static final long WARM_UP_SAMPLES = 100L;
+    private static final long DEFAULT_DELAY_MILLIS = 100L;
+
+    private final UserPointTable userPointTable;
+    private final boolean enabled;
+    private final long delayMillis;
+    private final double maxExtraRatio;
+    private final ScheduledThreadPoolExecutor timer;
+    private final ThreadPoolExecutor executor;
+
+    private final LongAdder readCount = new LongAdder();
+    private final LongAdder hedgeCount = new LongAdder();
+    private final LongAdder hedgeWinCount = new LongAdder();
+    private final LongAdder hedgeRejectCount = new LongAdder();
+    private final LatencyHistogram primaryLatency = new LatencyHistogram();
+    private final LatencyHistogram effectiveLatency = new LatencyHistogram();
+
+    /**
+     * delayMillis가 0 이하이면 관측된 첫 조회 지연 시간의 p50을 지연 시간으로 사용한다.
+     * 동시에 진행되는 헤징 조회는 hedgeThreads개로 제한한다.
+     */
+    public HedgedUserPointReader(UserPointTable userPointTable,
+                                 @Value("${point.hedge.enabled:false}") boolean enabled,
+                                 @Value("${point.hedge.delay-ms:0}") long delayMillis,
+                                 @Value("${point.hedge.max-extra-ratio:0.1}") double maxExtraRatio,
+                                 @Value("${point.hedge.threads:8}") int hedgeThreads) {
+        this.userPointTable = userPointTable;
+        this.enabled = enabled;
+        this.delayMillis = delayMillis;
+        this.maxExtraRatio = maxExtraRatio;
+        this.timer = new ScheduledThreadPoolExecutor(1, runnable -> {
+            Thread thread = new Thread(runnable, "point-hedge-timer");
+            thread.setDaemon(true);
+            return thread;
+        });
+        // 첫 조회가 먼저 끝나면 예약된 헤징을 큐에서 바로 제거
+        this.timer.setRemoveOnCancelPolicy(true);
+        AtomicInteger threadIndex = new AtomicInteger();
+        int threads = Math.max(1, hedgeThreads);
+        this.executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS, new SynchronousQueue<>(),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "point-hedge-" + threadIndex.getAndIncrement());
+                    thread.setDaemon(true);
+                    return thread;
+                }, new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    public UserPoint selectById(long userId) {
+        if (!enabled) {
+            return userPointTable.selectById(userId);
+        }
+        readCount.increment();
+        long start = System.nanoTime();
+        HedgedRead read = new HedgedRead(userId, Thread.currentThread());
+        ScheduledFuture<?> scheduled = scheduleHedge(read);
+
+        UserPoint result;
+        try {
+            UserPoint primary = userPointTable.selectById(userId);
+            // 헤징 조회가 이겨 인터럽트된 경우에는 실제 지연 시간의 하한이 기록된다
+            primaryLatency.record(System.nanoTime() - start);
+            if (read.complete(HedgedRead.PRIMARY_WON)) {
+                result = primary;
+            } else {
+                result = read.awaitHedgeResult();
+            }
+        } catch (RuntimeException e) {
+            if (read.complete(HedgedRead.PRIMARY_WON)) {
+                throw e;
+            }
+            result = read.awaitHedgeResult();
+        } finally {
+            if (scheduled != null) {
+                scheduled.cancel(false);
+            }
+            read.cancelHedge();
+        }
+        effectiveLatency.record(System.nanoTime() - start);
+        return result;
+    }
+
+    public HedgeStats stats() {
+        long reads = readCount.sum();
+        long hedges = hedgeCount.sum();
+        return new HedgeStats(
+                reads,
+                hedges,
+                hedgeWinCount.sum(),
+                hedgeRejectCount.sum(),
+                (reads == 0) ? 0.0 : (double) hedges / reads,
+                currentDelayMillis(),
+                primaryLatency.percentileMillis(0.99),
+                effectiveLatency.percentileMillis(0.99)
+        );
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        timer.shutdownNow();
+        executor.shutdownNow();
+    }
+
+    private ScheduledFuture<?> scheduleHedge(HedgedRead read) {
+        try {
+            return timer.schedule(() -> sendHedge(read), currentDelayMillis(), TimeUnit.MILLISECONDS);
+        } catch (RejectedExecutionException e) {
+            return null;
+        }
+    }
+
+    //목적 : 지연 시간이 지나도 첫 조회가 끝나지 않았으면, 예산과 헤징 스레드가 남아 있을 때만 두 번째 조회를 보냄
+    private void sendHedge(HedgedRead read) {
+        if (read.isDone() || !tryAcquireHedge()) {
+            return;
+        }
+        try {
+            read.hedge = executor.submit(() -> runHedge(read));
+        } catch (RejectedExecutionException e) {
+            // 헤징 스레드가 모두 사용 중이면 호출 스레드의 첫 조회만 기다린다
+            hedgeCount.decrement();
+            hedgeRejectCount.increment();
+            return;
+        }
+        // 제출하는 사이에 첫 조회가 끝났으면 바로 취소
+        if (read.isDone()) {
+            read.cancelHedge();
+        }
+    }
+
+    private void runHedge(HedgedRead read) {
+        if (read.isDone()) {
+            return;
+        }
+        UserPoint hedged = userPointTable.selectById(read.userId);
+        read.hedgeResult = hedged;
+        if (read.complete(HedgedRead.HEDGE_WON)) {
+            hedgeWinCount.increment();
+            read.interruptCaller();
+        }
+    }
+
+    private boolean tryAcquireHedge() {
+        // 동시에 여러 요청이 통과할 수 있으므로 예산은 근사적으로 지켜진다
+        if (hedgeCount.sum() + 1 > readCount.sum() * maxExtraRatio) {
+            return false;
+        }
+        hedgeCount.increment();
+        return true;
+    }
+
+    private long currentDelayMillis() {
+        if (delayMillis > 0) {
+            return delayMillis;
+        }
+        if (primaryLatency.count() < WARM_UP_SAMPLES) {
+            return DEFAULT_DELAY_MILLIS;
+        }
+        return Math.max(1L, primaryLatency.percentileMillis(0.5));
+    }
+
+    /**
+     * 한 번의 헤징 조회 상태
+     * 첫 조회(호출 스레드)와 헤징 조회 중 먼저 complete에 성공한 쪽이 이기며, 진 쪽은 인터럽트로 대기를 끝낸다.
+     */
+    private static final class HedgedRead {
+
+        private static final int PENDING = 0;
+        private static final int PRIMARY_WON = 1;
+        private static final int HEDGE_WON = 2;
+
+        private final long userId;
+        private final Thread caller;
+        private final AtomicInteger state = new AtomicInteger(PENDING);
+        private volatile Future<?> hedge;
+        private volatile UserPoint hedgeResult;
+        private volatile boolean callerInterrupted;
+
+        private HedgedRead(long userId, Thread caller) {
+            this.userId = userId;
+            this.caller = caller;
+        }
+
+        private boolean complete(int winner) {
+            return state.compareAndSet(PENDING, winner);
+        }
+
+        private boolean isDone() {
+            return state.get() != PENDING;
+        }
+
+        private void interruptCaller() {
+            caller.interrupt();
+            callerInterrupted = true;
+        }
+
+        //목적 : 헤징 조회가 이겼을 때 호출 스레드에 보낸 인터럽트가 도착할 때까지 기다렸다가 지우고 결과 반환
+        private UserPoint awaitHedgeResult() {
+            while (!callerInterrupted) {
+                Thread.onSpinWait();
+            }
+            Thread.interrupted();
+            return hedgeResult;
+        }
+
+        private void cancelHedge() {
+            Future<?> future = hedge;
+            if (future != null && state.get() == PRIMARY_WON) {
+                future.cancel(true);
+            }
+        }
+    }
+
+    public record HedgeStats(
+            long reads,
+            long hedges,
+            long hedgeWins,
+            long hedgeRejections,
+            double hedgeRate,
+            long delayMillis,
+            long primaryP99Millis,
+            long effectiveP99Millis
+    ) {
+    }
+
+    /**
+     * 1ms 단위 버킷(최대 1초)으로 지연 시간 분포를 기록하는 히스토그램
+     */
+    private static final class LatencyHistogram {
+
+        private static final int MAX_MILLIS = 1_000;
+
+        private final AtomicLongArray buckets = new AtomicLongArray(MAX_MILLIS + 1);
+        private final LongAdder count = new LongAdder();
+
+        void record(long elapsedNanos) {
+            int millis = (int) Math.min(TimeUnit.NANOSECONDS.toMillis(elapsedNanos), MAX_MILLIS);
+            buckets.incrementAndGet(millis);
+            count.increment();
+        }
+
+        long count() {
+            return count.sum();
+        }
+
+        long percentileMillis(double percentile) {
+            long total = count.sum();
+            if (total == 0) {
+                return 0L;
+            }
+            long threshold = (long) Math.ceil(total * percentile);
+            long seen = 0;
+            for (int millis = 0; millis <= MAX_MILLIS; millis++) {
+                seen += buckets.get(millis);
+                if (seen >= threshold) {
+                    return millis;
+                }
+            }
+            return MAX_MILLIS;
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package io.hhplus.tdd.point;
+
+/**
+ * 포인트 내역 내보내기 형식
+ * - NDJSON : 한 줄에 JSON 객체 하나
+ * - CSV : 헤더 행 + 쉼표 구분 행
+ */
+public enum HistoryExportFormat {
+    NDJSON("application/x-ndjson"),
+    CSV("text/csv");
+
+    private final String contentType;
+
+    HistoryExportFormat(String contentType) {
+        this.contentType = contentType;
+    }
+
+    public String contentType() {
+        return contentType;
+    }
+
+    public static HistoryExportFormat from(String value) {
+        for (HistoryExportFormat format : values()) {
+            if (format.name().equalsIgnoreCase(value)) {
+                return format;
+            }
+        }
+        throw new IllegalArgumentException("지원하지 않는 내보내기 형식입니다: " + value);
+    }
+}
@@ -0,0 +1,22 @@
+package io.hhplus.tdd.point;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * JVM 내부 ReentrantLock 기반 Lock 제공자 (기본값, 단일 인스턴스용)
+ */
+public class InMemoryUserLockProvider implements UserLockProvider {
+
+    private final ConcurrentHashMap<Long, ReentrantLock> lockMap = new ConcurrentHashMap<>();
+
+    /**
+     * 사용자 ID에 해당하는 Lock을 반환
+     * 없으면 새로 생성하여 반환 (thread-safe)
+     */
+    @Override
+    public Lock getLock(long userId) {
+        return lockMap.computeIfAbsent(userId, id -> new ReentrantLock());
+    }
+}
@@ -0,0 +1,82 @@
+package io.hhplus.tdd.point;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * 포인트 테이블에 기록된 적이 있는 사용자 ID를 추적하는 Bloom filter
+ * mightContain이 false이면 한 번도 기록된 적 없는 사용자임이 확실하므로 테이블 조회를 생략할 수 있다.
+ * 비트 배열 크기는 예상 사용자 수와 오탐률로 한 번만 계산되어 메모리 사용량이 고정된다.
+ */
+@Component
+public class KnownUserFilter {
+
+    private final AtomicLongArray bits;
+    private final long bitSize;
+    private final int hashCount;
+
+    public KnownUserFilter(@Value("${point.known-user.expected-users:1000000}") long expectedUsers,
+                           @Value("${point.known-user.false-positive-rate:0.01}") double falsePositiveRate) {
+        if (expectedUsers <= 0) {
+            throw new IllegalArgumentException("예상 사용자 수는 0보다 커야합니다");
+        }
+        if (falsePositiveRate <= 0 || falsePositiveRate >= 1) {
+            throw new IllegalArgumentException("오탐률은 0과 1 사이여야 합니다");
+        }
+        long optimalBits = (long) Math.ceil(-expectedUsers * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2)));
+        this.bits = new AtomicLongArray(Math.toIntExact((optimalBits + 63) / 64));
+        this.bitSize = bits.length() * 64L;
+        this.hashCount = Math.max(1, (int) Math.round((double) bitSize / expectedUsers * Math.log(2)));
+    }
+
+    /**
+     * 사용자 ID를 등록 (thread-safe)
+     */
+    public void put(long userId) {
+        long hash1 = mix(userId);
+        long hash2 = mix(hash1) | 1L;
+        for (int i = 0; i < hashCount; i++) {
+            long index = Math.floorMod(hash1 + i * hash2, bitSize);
+            setBit(index);
+        }
+    }
+
+    /**
+     * 등록된 적이 있을 수 있으면 true, 등록된 적이 없음이 확실하면 false
+     */
+    public boolean mightContain(long userId) {
+        long hash1 = mix(userId);
+        long hash2 = mix(hash1) | 1L;
+        for (int i = 0; i < hashCount; i++) {
+            long index = Math.floorMod(hash1 + i * hash2, bitSize);
+            if ((bits.get((int) (index >>> 6)) & (1L << index)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void setBit(long index) {
+        int word = (int) (index >>> 6);
+        long mask = 1L << index;
+        long current;
+        do {
+            current = bits.get(word);
+            if ((current & mask) != 0) {
+                return;
+            }
+        } while (!bits.compareAndSet(word, current, current | mask));
+    }
+
+    //목적 : 연속된 ID가 인접 비트에 몰리지 않도록 64비트 해시를 섞는다 (MurmurHash3 fmix64)
+    private static long mix(long value) {
+        value ^= value >>> 33;
+        value *= 0xff51afd7ed558ccdL;
+        value ^= value >>> 33;
+        value *= 0xc4ceb9fe1a85ec53L;
+        value ^= value >>> 33;
+        return value;
+    }
+}
@@ -0,0 +1,28 @@
+package io.hhplus.tdd.point;
+
+/**
+ * 여러 인스턴스가 공유하는 사용자 Lock 임대(lease) 저장소
+ * 임대를 얻을 때마다 사용자별로 단조 증가하는 fencing token을 발급한다.
+ */
+public interface LeaseStore {
+
+    /**
+     * 임대 획득을 시도하고, 성공하면 fencing token(1 이상), 다른 소유자가 보유 중이면 0을 반환
+     */
+    long tryAcquire(long userId, String owner, long leaseMillis);
+
+    /**
+     * 보유 중인 임대를 연장하고, 이미 만료되었거나 다른 소유자에게 넘어갔으면 false를 반환
+     */
+    boolean renew(long userId, String owner, long token, long leaseMillis);
+
+    /**
+     * 쓰기 직전에 임대를 확인하고, 저장소 기준으로 아직 만료되지 않았고 소유자와 token이 일치하면 true를 반환
+     */
+    boolean validate(long userId, String owner, long token);
+
+    /**
+     * 보유 중인 임대를 반납 (소유자와 token이 일치할 때만)
+     */
+    void release(long userId, String owner, long token);
+}
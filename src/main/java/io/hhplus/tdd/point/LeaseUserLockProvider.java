@@ -0,0 +1,338 @@
+package io.hhplus.tdd.point;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.LockSupport;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 임대(lease) 기반 분산 Lock 제공자
+ * 원격 임대 앞에 사용자별 로컬 ReentrantLock을 두어, 같은 인스턴스의 스레드는 로컬에서 먼저 줄을 서고
+ * 대기자가 있으면 임대를 반납하지 않고 다음 스레드에 넘겨준다. (원격 왕복은 인스턴스 간 경합이 있을 때만 발생)
+ * 보유 중인 임대는 백그라운드 스레드가 leaseMillis/3 주기로 연장하며, 연장에 실패하면 쓰기 시점의 fencing 검사에서 거부된다.
+ * 쓰기 시점의 fencing 검사는 평소에는 로컬 만료 시각만 확인하고(원격 왕복 없음), 연장이 밀려 남은 임대 시간이
+ * leaseMillis/2 이하이거나 직전 연장이 오류로 끝났을 때만 임대 저장소에서 소유자와 token을 다시 확인한다.
+ * 연장이 정상이면 leaseMillis/3마다 저장소가 임대를 확인해 주므로, 저장소에서 임대가 사라진 것을 늦게 알아채는 구간은 연장 주기 이내다.
+ */
+public class LeaseUserLockProvider implements UserLockProvider, AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(LeaseUserLockProvider.class);
+
+    private final LeaseStore leaseStore;
+    private final String owner = UUID.randomUUID().toString();
+    private final long leaseMillis;
+    private final long leaseNanos;
+    private final long safetyNanos;
+    private final long remoteCheckNanos;
+    private final long acquireTimeoutNanos;
+    private final long retryNanos;
+    private final int maxHandoffs;
+
+    private final ConcurrentHashMap<Long, LeasedLock> locks = new ConcurrentHashMap<>();
+    // 임대를 보유 중인 Lock만 모아 연장 주기마다 전체 사용자를 순회하지 않도록 한다
+    private final Set<LeasedLock> leasedLocks = ConcurrentHashMap.newKeySet();
+    private final ScheduledExecutorService renewer;
+
+    private final AtomicLong remoteAcquires = new AtomicLong();
+    private final AtomicLong localHandoffs = new AtomicLong();
+    private final AtomicLong renewals = new AtomicLong();
+    private final AtomicLong lostLeases = new AtomicLong();
+    private final AtomicLong remoteValidations = new AtomicLong();
+
+    public LeaseUserLockProvider(LeaseStore leaseStore, long leaseMillis, long acquireTimeoutMillis,
+                                 long retryMillis, int maxHandoffs) {
+        if (leaseMillis < 3 || acquireTimeoutMillis <= 0 || retryMillis <= 0) {
+            throw new IllegalArgumentException("임대 시간은 3ms 이상, 획득 대기/재시도 간격은 0보다 커야합니다");
+        }
+        if (maxHandoffs < 0) {
+            throw new IllegalArgumentException("최대 로컬 인계 횟수는 0 이상이어야 합니다");
+        }
+        this.leaseStore = leaseStore;
+        this.leaseMillis = leaseMillis;
+        this.leaseNanos = TimeUnit.MILLISECONDS.toNanos(leaseMillis);
+        // 인스턴스 간 시계 오차와 GC 멈춤을 고려해 만료 직전 구간은 유효하지 않은 것으로 본다
+        this.safetyNanos = leaseNanos / 5;
+        // 연장이 제때 되면 남은 시간은 2/3 이상이므로, 절반 이하로 줄었으면 연장이 밀린 것으로 보고 원격에서 확인한다
+        this.remoteCheckNanos = leaseNanos / 2;
+        this.acquireTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(acquireTimeoutMillis);
+        this.retryNanos = TimeUnit.MILLISECONDS.toNanos(retryMillis);
+        this.maxHandoffs = maxHandoffs;
+
+        this.renewer = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "point-lease-renewer");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long period = Math.max(1L, leaseMillis / 3);
+        renewer.scheduleWithFixedDelay(this::renewLeases, period, period, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public Lock getLock(long userId) {
+        return locks.computeIfAbsent(userId, LeasedLock::new);
+    }
+
+    @Override
+    public long currentFencingToken(long userId) {
+        LeasedLock lock = locks.get(userId);
+        if (lock == null || !lock.local.isHeldByCurrentThread()) {
+            throw new IllegalStateException("사용자 Lock을 보유하지 않은 상태에서 쓰기를 시도했습니다. userId=" + userId);
+        }
+        Lease lease = lock.lease;
+        if (lease == null || !lease.isValid(System.nanoTime(), safetyNanos)) {
+            throw new IllegalStateException("사용자 Lock 임대가 만료되어 쓰기를 거부합니다. userId=" + userId);
+        }
+        return lease.token;
+    }
+
+    @Override
+    public void validateFencingToken(long userId) {
+        long token = currentFencingToken(userId);
+        Lease lease = locks.get(userId).lease;
+        if (!lease.needsRemoteCheck(System.nanoTime(), remoteCheckNanos)) {
+            return;
+        }
+        remoteValidations.incrementAndGet();
+        if (leaseStore.validate(userId, owner, token)) {
+            lease.renewFailed = false;
+        } else {
+            if (!lease.lost) {
+                lease.lost = true;
+                lostLeases.incrementAndGet();
+            }
+            throw new IllegalStateException("사용자 Lock 임대를 다른 소유자가 가져가 쓰기를 거부합니다. userId=" + userId);
+        }
+    }
+
+    public LeaseStats stats() {
+        return new LeaseStats(remoteAcquires.get(), localHandoffs.get(), renewals.get(), lostLeases.get(),
+                remoteValidations.get(), leasedLocks.size());
+    }
+
+    @Override
+    public void close() {
+        renewer.shutdownNow();
+    }
+
+    //목적 : 보유 중인 임대 연장 (보유자 없이 남은 임대는 반납)
+    private void renewLeases() {
+        for (LeasedLock lock : leasedLocks) {
+            Lease lease = lock.lease;
+            if (lease == null || lease.lost) {
+                continue;
+            }
+            if (!lock.local.isLocked()) {
+                // tryLock 대기자가 시간 초과로 포기한 경우처럼 넘겨받을 스레드 없이 남은 임대
+                if (lock.local.tryLock()) {
+                    try {
+                        if (lock.lease == lease) {
+                            lock.dropLease();
+                        }
+                    } finally {
+                        lock.local.unlock();
+                    }
+                }
+                continue;
+            }
+            long start = System.nanoTime();
+            try {
+                if (leaseStore.renew(lock.userId, owner, lease.token, leaseMillis)) {
+                    lease.expiresAtNanos = start + leaseNanos;
+                    lease.renewFailed = false;
+                    renewals.incrementAndGet();
+                } else {
+                    lease.lost = true;
+                    lostLeases.incrementAndGet();
+                }
+            } catch (RuntimeException e) {
+                // 저장소가 임대를 확인해 주지 못했으므로 다음 연장이 성공할 때까지 쓰기마다 원격에서 확인한다
+                lease.renewFailed = true;
+                log.warn("Lock 임대 연장에 실패했습니다. userId={}", lock.userId, e);
+            }
+        }
+    }
+
+    public record LeaseStats(long remoteAcquires, long localHandoffs, long renewals, long lostLeases,
+                             long remoteValidations, int heldLeases) {
+    }
+
+    private static final class Lease {
+
+        private final long token;
+        private volatile long expiresAtNanos;
+        private volatile boolean lost;
+        // 직전 연장이 오류로 끝남 (임대 상태를 알 수 없음)
+        private volatile boolean renewFailed;
+
+        private Lease(long token, long expiresAtNanos) {
+            this.token = token;
+            this.expiresAtNanos = expiresAtNanos;
+        }
+
+        private boolean isValid(long now, long safetyNanos) {
+            return !lost && expiresAtNanos - safetyNanos - now > 0;
+        }
+
+        private boolean needsRemoteCheck(long now, long remoteCheckNanos) {
+            return renewFailed || expiresAtNanos - remoteCheckNanos - now <= 0;
+        }
+    }
+
+    /**
+     * 로컬 ReentrantLock + 원격 임대로 구성된 사용자 Lock
+     * lease, handoffs는 로컬 Lock을 보유한 스레드만 변경한다. (연장 스레드는 만료 시각, lost, renewFailed만 변경)
+     */
+    private final class LeasedLock implements Lock {
+
+        private final long userId;
+        private final ReentrantLock local = new ReentrantLock();
+        private volatile Lease lease;
+        private int handoffs;
+
+        private LeasedLock(long userId) {
+            this.userId = userId;
+        }
+
+        @Override
+        public void lock() {
+            local.lock();
+            boolean acquired;
+            try {
+                acquired = local.getHoldCount() > 1 || acquireLease(System.nanoTime() + acquireTimeoutNanos, false);
+            } catch (InterruptedException | RuntimeException e) {
+                local.unlock();
+                throw e instanceof RuntimeException runtime ? runtime : new IllegalStateException(e);
+            }
+            if (!acquired) {
+                local.unlock();
+                throw new IllegalStateException("사용자 Lock 획득 시간이 초과되었습니다. userId=" + userId);
+            }
+        }
+
+        @Override
+        public void lockInterruptibly() throws InterruptedException {
+            local.lockInterruptibly();
+            boolean acquired;
+            try {
+                acquired = local.getHoldCount() > 1 || acquireLease(System.nanoTime() + acquireTimeoutNanos, true);
+            } catch (InterruptedException | RuntimeException e) {
+                local.unlock();
+                throw e;
+            }
+            if (!acquired) {
+                local.unlock();
+                throw new IllegalStateException("사용자 Lock 획득 시간이 초과되었습니다. userId=" + userId);
+            }
+        }
+
+        @Override
+        public boolean tryLock() {
+            if (!local.tryLock()) {
+                return false;
+            }
+            try {
+                if (local.getHoldCount() > 1 || acquireLease(System.nanoTime(), false)) {
+                    return true;
+                }
+            } catch (InterruptedException | RuntimeException e) {
+                local.unlock();
+                throw e instanceof RuntimeException runtime ? runtime : new IllegalStateException(e);
+            }
+            local.unlock();
+            return false;
+        }
+
+        @Override
+        public boolean tryLock(long time, TimeUnit unit) throws InterruptedException {
+            long deadline = System.nanoTime() + unit.toNanos(time);
+            if (!local.tryLock(time, unit)) {
+                return false;
+            }
+            try {
+                if (local.getHoldCount() > 1 || acquireLease(deadline, true)) {
+                    return true;
+                }
+            } catch (InterruptedException | RuntimeException e) {
+                local.unlock();
+                throw e;
+            }
+            local.unlock();
+            return false;
+        }
+
+        @Override
+        public void unlock() {
+            if (local.isHeldByCurrentThread() && local.getHoldCount() == 1) {
+                Lease current = lease;
+                // 로컬 대기자가 있으면 임대를 넘겨주되, 다른 인스턴스가 굶지 않도록 연속 인계 횟수를 제한
+                if (current != null && (!local.hasQueuedThreads() || handoffs >= maxHandoffs
+                        || !current.isValid(System.nanoTime(), safetyNanos))) {
+                    dropLease();
+                }
+            }
+            local.unlock();
+        }
+
+        @Override
+        public Condition newCondition() {
+            throw new UnsupportedOperationException("분산 Lock은 Condition을 지원하지 않습니다");
+        }
+
+        //목적 : 로컬 Lock을 얻은 뒤 유효한 임대를 이어받거나 원격 임대를 획득 (deadline까지 재시도)
+        private boolean acquireLease(long deadline, boolean interruptible) throws InterruptedException {
+            Lease current = lease;
+            if (current != null) {
+                if (current.isValid(System.nanoTime(), safetyNanos)) {
+                    handoffs++;
+                    localHandoffs.incrementAndGet();
+                    return true;
+                }
+                dropLease();
+            }
+            while (true) {
+                long start = System.nanoTime();
+                long token = leaseStore.tryAcquire(userId, owner, leaseMillis);
+                if (token != 0L) {
+                    lease = new Lease(token, start + leaseNanos);
+                    handoffs = 0;
+                    leasedLocks.add(this);
+                    remoteAcquires.incrementAndGet();
+                    return true;
+                }
+                if (System.nanoTime() - deadline >= 0) {
+                    return false;
+                }
+                LockSupport.parkNanos(retryNanos);
+                if (interruptible && Thread.interrupted()) {
+                    throw new InterruptedException();
+                }
+            }
+        }
+
+        //목적 : 임대 반납 (실패해도 만료되면 자연히 풀리므로 로그만 남긴다)
+        private void dropLease() {
+            Lease current = lease;
+            lease = null;
+            handoffs = 0;
+            leasedLocks.remove(this);
+            if (current == null || current.lost) {
+                return;
+            }
+            try {
+                leaseStore.release(userId, owner, current.token);
+            } catch (RuntimeException e) {
+                log.warn("Lock 임대 반납에 실패했습니다. userId={}", userId, e);
+            }
+        }
+    }
+}
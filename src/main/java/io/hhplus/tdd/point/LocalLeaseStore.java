@@ -0,0 +1,88 @@
+package io.hhplus.tdd.point;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * 프로세스 내부에서 동작하는 임대 저장소 (테스트 및 단일 호스트 실행용 Redis 대체)
+ * 하나의 인스턴스를 여러 LeaseUserLockProvider가 공유하면 여러 서버 인스턴스를 흉내낼 수 있고,
+ * 원격 저장소의 왕복 지연을 roundTripMicros로 재현할 수 있다.
+ */
+public class LocalLeaseStore implements LeaseStore {
+
+    private final ConcurrentHashMap<Long, Lease> leases = new ConcurrentHashMap<>();
+    private final AtomicLong tokenSequence = new AtomicLong();
+    private final AtomicLong roundTrips = new AtomicLong();
+    private final long roundTripNanos;
+
+    public LocalLeaseStore(long roundTripMicros) {
+        if (roundTripMicros < 0) {
+            throw new IllegalArgumentException("왕복 지연은 0 이상이어야 합니다");
+        }
+        this.roundTripNanos = roundTripMicros * 1_000L;
+    }
+
+    @Override
+    public long tryAcquire(long userId, String owner, long leaseMillis) {
+        roundTrip();
+        long now = System.nanoTime();
+        Lease lease = leases.compute(userId, (id, current) -> {
+            // 만료되었거나 같은 소유자가 다시 요청하면 새 token으로 재발급
+            if (current == null || current.expiredAt(now) || current.owner().equals(owner)) {
+                return new Lease(owner, tokenSequence.incrementAndGet(), now + leaseMillis * 1_000_000L);
+            }
+            return current;
+        });
+        return lease.owner().equals(owner) && lease.expiresAtNanos() > now ? lease.token() : 0L;
+    }
+
+    @Override
+    public boolean renew(long userId, String owner, long token, long leaseMillis) {
+        roundTrip();
+        long now = System.nanoTime();
+        Lease lease = leases.computeIfPresent(userId, (id, current) -> current.heldBy(owner, token) && !current.expiredAt(now)
+                ? new Lease(owner, token, now + leaseMillis * 1_000_000L)
+                : current);
+        return lease != null && lease.heldBy(owner, token) && !lease.expiredAt(now);
+    }
+
+    @Override
+    public boolean validate(long userId, String owner, long token) {
+        roundTrip();
+        Lease lease = leases.get(userId);
+        return lease != null && lease.heldBy(owner, token) && !lease.expiredAt(System.nanoTime());
+    }
+
+    @Override
+    public void release(long userId, String owner, long token) {
+        roundTrip();
+        leases.computeIfPresent(userId, (id, current) -> current.heldBy(owner, token) ? null : current);
+    }
+
+    /**
+     * 지금까지 저장소에 요청한 횟수
+     */
+    public long roundTrips() {
+        return roundTrips.get();
+    }
+
+    //목적 : 원격 저장소 호출 비용 재현
+    private void roundTrip() {
+        roundTrips.incrementAndGet();
+        if (roundTripNanos > 0) {
+            LockSupport.parkNanos(roundTripNanos);
+        }
+    }
+
+    private record Lease(String owner, long token, long expiresAtNanos) {
+
+        boolean expiredAt(long now) {
+            return expiresAtNanos - now <= 0;
+        }
+
+        boolean heldBy(String owner, long token) {
+            return this.owner.equals(owner) && this.token == token;
+        }
+    }
+}
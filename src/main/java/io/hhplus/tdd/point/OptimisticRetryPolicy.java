@@ -0,0 +1,75 @@
+package io.hhplus.tdd.point;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * 낙관적 동시성 제어의 재시도 정책과 지표
+ * 충돌 시 지수 백오프(+jitter)로 maxRetries번까지 재시도하고, 그래도 충돌하면 비관적 Lock으로 전환한다.
+ */
+@Component
+public class OptimisticRetryPolicy {
+
+    private final ConcurrencyMode mode;
+    private final int maxRetries;
+    private final long backoffMicros;
+
+    private final LongAdder commitCount = new LongAdder();
+    private final LongAdder conflictCount = new LongAdder();
+    private final LongAdder fallbackCount = new LongAdder();
+
+    public OptimisticRetryPolicy(@Value("${point.concurrency.mode:PESSIMISTIC}") ConcurrencyMode mode,
+                                 @Value("${point.concurrency.optimistic.max-retries:3}") int maxRetries,
+                                 @Value("${point.concurrency.optimistic.backoff-micros:500}") long backoffMicros) {
+        this.mode = mode;
+        this.maxRetries = Math.max(0, maxRetries);
+        this.backoffMicros = Math.max(1, backoffMicros);
+    }
+
+    public boolean isOptimistic() {
+        return mode == ConcurrencyMode.OPTIMISTIC;
+    }
+
+    /**
+     * 재시도 횟수(attempt)를 포함한 전체 시도 수는 maxRetries + 1
+     */
+    public boolean canRetry(int attempt) {
+        return attempt < maxRetries;
+    }
+
+    //목적 : 충돌한 요청들이 같은 시점에 다시 부딪히지 않도록 지수 백오프 + jitter 만큼 대기
+    public void backoff(int attempt) {
+        long ceiling = backoffMicros << Math.min(attempt, 10);
+        long sleepMicros = ThreadLocalRandom.current().nextLong(ceiling / 2, ceiling + 1);
+        LockSupport.parkNanos(TimeUnit.MICROSECONDS.toNanos(sleepMicros));
+    }
+
+    public void recordCommit() {
+        commitCount.increment();
+    }
+
+    public void recordConflict() {
+        conflictCount.increment();
+    }
+
+    public void recordFallback() {
+        fallbackCount.increment();
+    }
+
+    public OptimisticStats stats() {
+        return new OptimisticStats(mode, commitCount.sum(), conflictCount.sum(), fallbackCount.sum());
+    }
+
+    public record OptimisticStats(
+            ConcurrencyMode mode,
+            long optimisticCommits,
+            long conflicts,
+            long fallbacks
+    ) {
+    }
+}
@@ -0,0 +1,250 @@
+package io.hhplus.tdd.point;
+
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * 사용자별 포인트 변경을 SSE 구독자에게 전달하는 클래스
+ * 구독자마다 스레드를 두지 않고, 공용 전송 스레드 풀이 구독자별로 가장 최근 변경 하나만 전송한다.
+ * 전송이 밀린 구독자에게는 중간 변경을 건너뛰고 최신 값만 보낸다 (coalescing).
+ * 한 번의 전송이 slow-send-ms 이상 끝나지 않는 구독자는 구독을 해제하고, 막힌 전송 스레드 대신 전송 스레드를 하나 더 둔다.
+ * 막힌 전송이 emitter를 잡고 있으므로 감시 스레드는 emitter를 건드리지 않으며, 연결 종료는 전송이 끝난 스레드가 직접 한다.
+ * 막힌 스레드는 전송이 실패하거나(컨테이너의 비동기 요청 timeout 등) 끝나면 풀에서 빠진다.
+ */
+@Component
+public class PointChangeBroadcaster {
+
+    private static final Logger log = LoggerFactory.getLogger(PointChangeBroadcaster.class);
+    private static final long NOT_SENDING = Long.MIN_VALUE;
+    // 전송 중에 느린 구독자로 해제됨
+    private static final long EVICTED = Long.MIN_VALUE + 1;
+
+    private final ConcurrentHashMap<Long, Set<Subscriber>> subscriberMap = new ConcurrentHashMap<>();
+    private final ThreadPoolExecutor dispatcher;
+    private final ScheduledExecutorService watchdog;
+    private final long timeoutMillis;
+    private final long slowSendNanos;
+
+    /**
+     * slowSendMillis가 0 이하이면 느린 구독자를 해제하지 않는다.
+     */
+    public PointChangeBroadcaster(@Value("${point.stream.dispatch-threads:2}") int dispatchThreads,
+                                  @Value("${point.stream.timeout-ms:1800000}") long timeoutMillis,
+                                  @Value("${point.stream.slow-send-ms:5000}") long slowSendMillis) {
+        AtomicInteger threadIndex = new AtomicInteger();
+        this.dispatcher = new ThreadPoolExecutor(dispatchThreads, dispatchThreads, 0L, TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>(), runnable -> {
+            Thread thread = new Thread(runnable, "point-stream-" + threadIndex.getAndIncrement());
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.timeoutMillis = timeoutMillis;
+        this.slowSendNanos = TimeUnit.MILLISECONDS.toNanos(slowSendMillis);
+        this.watchdog = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "point-stream-watchdog");
+            thread.setDaemon(true);
+            return thread;
+        });
+        if (slowSendMillis > 0) {
+            long period = Math.max(1L, slowSendMillis / 2);
+            watchdog.scheduleWithFixedDelay(this::evictSlowSubscribers, period, period, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * 사용자의 포인트 변경을 구독하는 SseEmitter를 생성
+     * 구독 시점에는 테이블을 조회하지 않으며, 이후 커밋되는 변경부터 전달한다.
+     */
+    public SseEmitter subscribe(long userId) {
+        SseEmitter emitter = createEmitter(timeoutMillis);
+        Subscriber subscriber = new Subscriber(userId, emitter);
+        subscriberMap.computeIfAbsent(userId, id -> ConcurrentHashMap.newKeySet()).add(subscriber);
+
+        emitter.onCompletion(() -> unsubscribe(subscriber));
+        emitter.onTimeout(() -> unsubscribe(subscriber));
+        emitter.onError(e -> unsubscribe(subscriber));
+        return emitter;
+    }
+
+    /**
+     * 커밋된 변경을 해당 사용자의 구독자들에게 전달 (발행 스레드는 전송을 기다리지 않음)
+     * 사용자 Lock 안의 커밋에서 동기로 호출되므로 예외를 밖으로 던지지 않는다. 초기 데이터 적재 이벤트는 전달하지 않는다.
+     */
+    @EventListener
+    public void onPointChanged(PointChangedEvent event) {
+        if (event.history() == null) {
+            return;
+        }
+        try {
+            Set<Subscriber> subscribers = subscriberMap.get(event.userPoint().id());
+            if (subscribers == null) {
+                return;
+            }
+            for (Subscriber subscriber : subscribers) {
+                subscriber.offer(event);
+            }
+        } catch (RuntimeException e) {
+            log.warn("포인트 변경 전달에 실패했습니다. userId={}", event.userPoint().id(), e);
+        }
+    }
+
+    public int subscriberCount(long userId) {
+        Set<Subscriber> subscribers = subscriberMap.get(userId);
+        return (subscribers == null) ? 0 : subscribers.size();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        watchdog.shutdownNow();
+        dispatcher.shutdownNow();
+        subscriberMap.values().forEach(subscribers -> subscribers.forEach(s -> s.emitter.complete()));
+        subscriberMap.clear();
+    }
+
+    SseEmitter createEmitter(long timeoutMillis) {
+        return new SseEmitter(timeoutMillis);
+    }
+
+    //목적 : 한 번의 전송이 slowSendNanos 이상 걸리고 있는 구독자를 해제하고, 막힌 전송 스레드를 대신할 스레드를 추가
+    // (emitter.complete()는 진행 중인 send()와 같은 Lock을 기다리므로 여기서 호출하지 않는다)
+    void evictSlowSubscribers() {
+        long now = System.nanoTime();
+        for (Set<Subscriber> subscribers : subscriberMap.values()) {
+            for (Subscriber subscriber : subscribers) {
+                if (subscriber.evictIfSendingLongerThan(now, slowSendNanos)) {
+                    log.warn("전송이 지연된 구독을 해제합니다. userId={}", subscriber.userId);
+                    unsubscribe(subscriber);
+                    subscriber.latest.set(null);
+                    resizeDispatcher(1);
+                }
+            }
+        }
+    }
+
+    /**
+     * 전송 스레드 수 (dispatch-threads + 막힌 전송을 대신해 추가한 스레드 수)
+     */
+    int dispatcherPoolSize() {
+        return dispatcher.getCorePoolSize();
+    }
+
+    //목적 : 막힌 스레드 대신 스레드를 늘리거나(+1), 막혔던 전송이 끝나면 다시 줄인다(-1)
+    private void resizeDispatcher(int delta) {
+        synchronized (dispatcher) {
+            int size = dispatcher.getCorePoolSize() + delta;
+            // 최대 크기는 항상 core 이상이어야 하므로 늘릴 때는 최대 크기부터, 줄일 때는 core부터 바꾼다
+            if (delta > 0) {
+                dispatcher.setMaximumPoolSize(size);
+                dispatcher.setCorePoolSize(size);
+            } else {
+                dispatcher.setCorePoolSize(size);
+                dispatcher.setMaximumPoolSize(size);
+            }
+        }
+    }
+
+    private void unsubscribe(Subscriber subscriber) {
+        subscriberMap.computeIfPresent(subscriber.userId, (id, subscribers) -> {
+            subscribers.remove(subscriber);
+            return subscribers.isEmpty() ? null : subscribers;
+        });
+    }
+
+    /**
+     * 전송 대기 중인 최신 변경 하나만 보관하는 구독자
+     */
+    private final class Subscriber {
+
+        private final long userId;
+        private final SseEmitter emitter;
+        private final AtomicReference<PointChangedEvent> latest = new AtomicReference<>();
+        private final AtomicBoolean scheduled = new AtomicBoolean();
+        // 진행 중인 전송의 시작 시각 (전송 중이 아니면 NOT_SENDING, 전송 중에 해제되면 EVICTED)
+        private final AtomicLong sendState = new AtomicLong(NOT_SENDING);
+
+        private Subscriber(long userId, SseEmitter emitter) {
+            this.userId = userId;
+            this.emitter = emitter;
+        }
+
+        //목적 : 최신 변경으로 덮어쓰고, 전송 작업이 없을 때만 새로 예약
+        private void offer(PointChangedEvent event) {
+            latest.set(event);
+            schedule();
+        }
+
+        private void schedule() {
+            if (scheduled.compareAndSet(false, true)) {
+                try {
+                    dispatcher.execute(this::drain);
+                } catch (RejectedExecutionException e) {
+                    scheduled.set(false);
+                }
+            }
+        }
+
+        //목적 : 진행 중인 전송이 nanos 이상 걸렸으면 EVICTED로 표시 (전송이 방금 끝났다면 표시하지 않는다)
+        private boolean evictIfSendingLongerThan(long now, long nanos) {
+            long started = sendState.get();
+            return nanos > 0 && started != NOT_SENDING && started != EVICTED && now - started >= nanos
+                    && sendState.compareAndSet(started, EVICTED);
+        }
+
+        private void drain() {
+            PointChangedEvent event;
+            while ((event = latest.getAndSet(null)) != null) {
+                sendState.set(System.nanoTime());
+                Exception failure = null;
+                try {
+                    emitter.send(SseEmitter.event().name("point").data(event));
+                } catch (IOException | IllegalStateException e) {
+                    failure = e;
+                }
+                if (sendState.getAndSet(NOT_SENDING) == EVICTED) {
+                    // 감시 스레드가 이 스레드 대신 스레드를 추가했으므로 풀에서 빠지고, 전송이 끝났으니 연결을 닫는다
+                    resizeDispatcher(-1);
+                    finish(failure);
+                    return;
+                }
+                if (failure != null) {
+                    log.debug("포인트 변경 전송 실패로 구독을 해제합니다. userId={}", userId);
+                    unsubscribe(this);
+                    finish(failure);
+                    return;
+                }
+            }
+            scheduled.set(false);
+            // 예약 해제 직전에 도착한 변경이 있으면 다시 예약
+            if (latest.get() != null) {
+                schedule();
+            }
+        }
+
+        private void finish(Exception failure) {
+            if (failure != null) {
+                emitter.completeWithError(failure);
+            } else {
+                emitter.complete();
+            }
+        }
+    }
+}
@@ -0,0 +1,11 @@
+package io.hhplus.tdd.point;
+
+/**
+ * 포인트 변경이 커밋되었을 때 발행되는 이벤트
+ * 변경된 포인트와 함께 기록된 내역을 담는다. (초기 데이터 적재로 발행된 경우 history는 null)
+ */
+public record PointChangedEvent(
+        UserPoint userPoint,
+        PointHistory history
+) {
+}
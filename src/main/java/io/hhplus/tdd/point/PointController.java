@@ -1,8 +1,14 @@
 package io.hhplus.tdd.point;
 
+import io.hhplus.tdd.ServiceUnavailableException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
 
@@ -12,9 +18,21 @@ public class PointController {
 
     private static final Logger log = LoggerFactory.getLogger(PointController.class);
     private final PointService pointService;
+    private final PointHistoryExporter pointHistoryExporter;
+    private final PointChangeBroadcaster pointChangeBroadcaster;
+    private final DataInitializer dataInitializer;
+    private final PointOutbox pointOutbox;
+    // 재시작 후에는 버전이 0부터 다시 시작하므로, 이전 인스턴스가 발급한 ETag와 구분하기 위한 값
+    private final String instanceTag = Long.toString(System.currentTimeMillis(), 36);
 
-    public PointController(PointService pointService) {
+    public PointController(PointService pointService, PointHistoryExporter pointHistoryExporter,
+                           PointChangeBroadcaster pointChangeBroadcaster, DataInitializer dataInitializer,
+                           PointOutbox pointOutbox) {
         this.pointService = pointService;
+        this.pointHistoryExporter = pointHistoryExporter;
+        this.pointChangeBroadcaster = pointChangeBroadcaster;
+        this.dataInitializer = dataInitializer;
+        this.pointOutbox = pointOutbox;
     }
 
     /**
@@ -22,8 +40,16 @@ public class PointController {
      */
     @GetMapping("{id}")
     public UserPoint point(
-            @PathVariable long id
+            @PathVariable long id,
+            WebRequest webRequest
     ) {
+        // 버전을 먼저 읽어야 조회 중 커밋된 변경이 있어도 ETag가 응답보다 앞서지 않는다
+        // checkNotModified는 If-None-Match가 일치하면 304로 응답하고, 아니면 ETag 헤더만 설정한다
+        // Last-Modified는 초 단위라 같은 초의 변경을 구분하지 못하고(If-Modified-Since로 오래된 304가 가능),
+        // 없는 사용자는 조회 시각이 찍히므로 보내지 않는다. 조건부 조회는 ETag만 사용한다.
+        if (webRequest.checkNotModified(eTagOf(id))) {
+            return null;
+        }
         return pointService.getUserPoint(id);
     }
 
@@ -32,11 +58,26 @@ public class PointController {
      */
     @GetMapping("{id}/histories")
     public List<PointHistory> history(
-            @PathVariable long id
+            @PathVariable long id,
+            WebRequest webRequest
     ) {
+        if (webRequest.checkNotModified(eTagOf(id))) {
+            return null;
+        }
         return pointService.getUserPointHistory(id);
     }
 
+    /**
+     * 특정 유저의 포인트 변경을 SSE로 구독합니다.
+     * 충전/사용이 커밋될 때마다 변경된 포인트와 내역이 "point" 이벤트로 전달됩니다.
+     */
+    @GetMapping(value = "{id}/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter stream(
+            @PathVariable long id
+    ) {
+        return pointChangeBroadcaster.subscribe(id);
+    }
+
     /**
      * TODO - 특정 유저의 포인트를 충전하는 기능을 작성해주세요.
      */
@@ -45,6 +86,7 @@ public class PointController {
             @PathVariable long id,
             @RequestBody PointRequest request
     ) {
+        checkWritable();
         return pointService.chargePoint(id, request.amount());
     }
 
@@ -56,6 +98,73 @@ public class PointController {
             @PathVariable long id,
             @RequestBody PointRequest request
     ) {
+        checkWritable();
         return pointService.usePoint(id, request.amount());
     }
+
+    /**
+     * (관리자) 전체 유저의 포인트 충전/이용 내역을 NDJSON 또는 CSV로 내보냅니다.
+     * from/to는 updateMillis 범위이며 [from, to) 구간을 포함합니다.
+     */
+    @GetMapping("histories/export")
+    public ResponseEntity<StreamingResponseBody> exportHistories(
+            @RequestParam(defaultValue = "ndjson") String format,
+            @RequestParam(required = false) Long from,
+            @RequestParam(required = false) Long to,
+            @RequestParam(defaultValue = "false") boolean gzip
+    ) {
+        HistoryExportFormat exportFormat = HistoryExportFormat.from(format);
+        long fromMillis = (from != null) ? from : Long.MIN_VALUE;
+        long toMillis = (to != null) ? to : Long.MAX_VALUE;
+
+        StreamingResponseBody body = out -> {
+            long count = pointHistoryExporter.export(out, exportFormat, fromMillis, toMillis, gzip);
+            log.info("포인트 내역 내보내기 완료: format={}, rows={}", exportFormat, count);
+        };
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(exportFormat.contentType()));
+        if (gzip) {
+            response.header("Content-Encoding", "gzip");
+        }
+        return response.body(body);
+    }
+
+    /**
+     * (관리자) 전체 유저의 포인트 잔액을 요청 시점 기준으로 일관되게 NDJSON으로 내보냅니다.
+     * 쓰기를 멈추지 않으며, histories=true이면 같은 시점까지의 내역도 함께 내보냅니다.
+     */
+    @GetMapping("snapshot")
+    public ResponseEntity<StreamingResponseBody> snapshot(
+            @RequestParam(defaultValue = "false") boolean histories,
+            @RequestParam(defaultValue = "false") boolean gzip
+    ) {
+        StreamingResponseBody body = out -> {
+            try (PointSnapshotStore.Snapshot snapshot = pointService.openSnapshot()) {
+                long count = pointHistoryExporter.exportSnapshot(out, snapshot, histories, gzip);
+                log.info("포인트 스냅샷 내보내기 완료: sequence={}, rows={}", snapshot.sequence(), count);
+            }
+        };
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(HistoryExportFormat.NDJSON.contentType()));
+        if (gzip) {
+            response.header("Content-Encoding", "gzip");
+        }
+        return response.body(body);
+    }
+
+    //목적 : 사용자 포인트 버전으로 약한(weak) ETag 생성
+    private String eTagOf(long id) {
+        return "W/\"" + instanceTag + "-" + pointService.getVersion(id) + "\"";
+    }
+
+    //목적 : 초기 데이터 적재 중이거나 outbox가 가득 찬 동안의 충전/사용 거절
+    // (outbox 추가는 커밋 이후에 일어나 실패시킬 수 없으므로, 커밋 전에 새 요청을 막아 적체를 제한한다)
+    private void checkWritable() {
+        if (!dataInitializer.isReady()) {
+            throw new ServiceUnavailableException("초기 데이터 적재 중입니다. 잠시 후 다시 시도해주세요.");
+        }
+        if (!pointOutbox.hasCapacity()) {
+            throw new ServiceUnavailableException("포인트 변경 처리가 밀려 있습니다. 잠시 후 다시 시도해주세요.");
+        }
+    }
 }
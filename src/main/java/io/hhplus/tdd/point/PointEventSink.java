@@ -0,0 +1,12 @@
+package io.hhplus.tdd.point;
+
+import java.util.List;
+
+/**
+ * outbox에 쌓인 포인트 변경을 외부 시스템(분석, 알림 등)으로 보내는 대상
+ * 전송이 실패하면 예외를 던지고, relay는 같은 배치를 다시 보낸다. (at-least-once, 중복은 offset으로 구분)
+ */
+public interface PointEventSink {
+
+    void send(List<PointOutbox.OutboxEvent> batch);
+}
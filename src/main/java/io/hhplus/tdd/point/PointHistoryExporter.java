@@ -0,0 +1,145 @@
+package io.hhplus.tdd.point;
+
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * 전체 포인트 내역과 잔액 스냅샷을 스트림으로 내보내는 클래스
+ * PointHistoryLog를 한 번만 순회하며 한 행씩 바로 출력하므로, 내역 수와 관계없이 메모리 사용량이 일정하다.
+ */
+@Component
+public class PointHistoryExporter {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final PointHistoryLog pointHistoryLog;
+
+    public PointHistoryExporter(PointHistoryLog pointHistoryLog) {
+        this.pointHistoryLog = pointHistoryLog;
+    }
+
+    /**
+     * updateMillis가 [fromMillis, toMillis) 범위인 내역을 출력하고, 출력한 행 수를 반환
+     */
+    public long export(OutputStream out, HistoryExportFormat format, long fromMillis, long toMillis, boolean gzip)
+            throws IOException {
+        GZIPOutputStream gzipOut = gzip ? new GZIPOutputStream(out, BUFFER_SIZE) : null;
+        Writer writer = newWriter(gzip ? gzipOut : out);
+
+        if (format == HistoryExportFormat.CSV) {
+            writer.write("id,userId,amount,type,updateMillis\n");
+        }
+
+        // 행마다 재사용하는 버퍼 (행 단위 문자열 할당 방지)
+        StringBuilder line = new StringBuilder(128);
+        long count = 0;
+        int end = pointHistoryLog.size();
+        for (int i = 0; i < end; i++) {
+            PointHistory history = pointHistoryLog.get(i);
+            if (history.updateMillis() < fromMillis || history.updateMillis() >= toMillis) {
+                continue;
+            }
+            line.setLength(0);
+            appendLine(line, history, format);
+            writer.append(line);
+            count++;
+        }
+
+        finish(writer, gzipOut);
+        return count;
+    }
+
+    /**
+     * 스냅샷 시점의 전체 사용자 잔액을 NDJSON으로 출력하고, 출력한 행 수를 반환
+     * includeHistories가 true이면 이어서 스냅샷 시점까지 커밋된 내역을 출력한다.
+     */
+    public long exportSnapshot(OutputStream out, PointSnapshotStore.Snapshot snapshot, boolean includeHistories,
+                               boolean gzip) throws IOException {
+        GZIPOutputStream gzipOut = gzip ? new GZIPOutputStream(out, BUFFER_SIZE) : null;
+        Writer writer = newWriter(gzip ? gzipOut : out);
+        StringBuilder line = new StringBuilder(128);
+        long[] count = new long[1];
+
+        IOException[] failure = new IOException[1];
+        snapshot.forEach(entry -> {
+            if (failure[0] != null) {
+                return;
+            }
+            UserPoint userPoint = entry.userPoint();
+            line.setLength(0);
+            line.append("{\"id\":").append(userPoint.id())
+                    .append(",\"point\":").append(userPoint.point())
+                    .append(",\"updateMillis\":").append(userPoint.updateMillis())
+                    .append(",\"historyCount\":").append(entry.historyCount())
+                    .append("}\n");
+            try {
+                writer.append(line);
+                count[0]++;
+            } catch (IOException e) {
+                failure[0] = e;
+            }
+        });
+        if (failure[0] != null) {
+            throw failure[0];
+        }
+
+        if (includeHistories) {
+            // 사용자별로 로그 앞에서부터 스냅샷 시점의 내역 수만큼만 출력 (이후 커밋된 내역 제외)
+            Map<Long, long[]> emitted = new HashMap<>();
+            int end = snapshot.historyLogSize();
+            for (int i = 0; i < end; i++) {
+                PointHistory history = pointHistoryLog.get(i);
+                PointSnapshotStore.Entry entry = snapshot.get(history.userId());
+                long[] emittedCount = emitted.computeIfAbsent(history.userId(), id -> new long[1]);
+                if (entry == null || emittedCount[0] >= entry.historyCount()) {
+                    continue;
+                }
+                emittedCount[0]++;
+                line.setLength(0);
+                appendLine(line, history, HistoryExportFormat.NDJSON);
+                writer.append(line);
+                count[0]++;
+            }
+        }
+
+        finish(writer, gzipOut);
+        return count[0];
+    }
+
+    private Writer newWriter(OutputStream out) {
+        return new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), BUFFER_SIZE);
+    }
+
+    private void finish(Writer writer, GZIPOutputStream gzipOut) throws IOException {
+        writer.flush();
+        if (gzipOut != null) {
+            gzipOut.finish();
+        }
+    }
+
+    private void appendLine(StringBuilder line, PointHistory history, HistoryExportFormat format) {
+        if (format == HistoryExportFormat.CSV) {
+            line.append(history.id()).append(',')
+                    .append(history.userId()).append(',')
+                    .append(history.amount()).append(',')
+                    .append(history.type().name()).append(',')
+                    .append(history.updateMillis()).append('\n');
+        } else {
+            line.append("{\"id\":").append(history.id())
+                    .append(",\"userId\":").append(history.userId())
+                    .append(",\"amount\":").append(history.amount())
+                    .append(",\"type\":\"").append(history.type().name())
+                    .append("\",\"updateMillis\":").append(history.updateMillis())
+                    .append("}\n");
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package io.hhplus.tdd.point;
+
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.function.Consumer;
+
+/**
+ * 기록된 모든 PointHistory를 기록 순서대로 보관하는 추가 전용(append-only) 로그
+ * PointHistoryTable은 사용자별 조회만 제공하므로, 전체 내역을 한 번에 순회해야 하는 기능에서 사용한다.
+ * 테이블이 반환한 객체의 참조만 보관하므로 행마다 추가되는 메모리는 참조 하나뿐이다.
+ */
+@Component
+public class PointHistoryLog {
+
+    private static final int CHUNK_SHIFT = 12;
+    private static final int CHUNK_SIZE = 1 << CHUNK_SHIFT;
+    private static final int CHUNK_MASK = CHUNK_SIZE - 1;
+
+    private volatile PointHistory[][] chunks = new PointHistory[16][];
+    private volatile int size;
+
+    /**
+     * 내역을 로그 끝에 추가 (thread-safe)
+     */
+    public synchronized void append(PointHistory history) {
+        int index = size;
+        int chunkIndex = index >>> CHUNK_SHIFT;
+        PointHistory[][] current = chunks;
+        if (chunkIndex == current.length) {
+            current = Arrays.copyOf(current, current.length * 2);
+        }
+        if (current[chunkIndex] == null) {
+            current[chunkIndex] = new PointHistory[CHUNK_SIZE];
+        }
+        current[chunkIndex][index & CHUNK_MASK] = history;
+        chunks = current;
+        // size를 마지막에 기록하여, size를 먼저 읽은 reader는 그 이전 원소를 모두 볼 수 있다
+        size = index + 1;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public PointHistory get(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException(index);
+        }
+        return chunks[index >>> CHUNK_SHIFT][index & CHUNK_MASK];
+    }
+
+    /**
+     * 호출 시점까지 기록된 내역을 순서대로 순회 (순회 중 추가된 내역은 포함하지 않음)
+     */
+    public void forEach(Consumer<PointHistory> action) {
+        int end = size;
+        PointHistory[][] snapshot = chunks;
+        for (int i = 0; i < end; i++) {
+            action.accept(snapshot[i >>> CHUNK_SHIFT][i & CHUNK_MASK]);
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package io.hhplus.tdd.point;
+
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * JFR 기록 파일(.jfr)에서 PointPhaseEvent를 읽어 단계별 지연 시간 분포를 출력하는 분석기
+ * 사용법: ./gradlew analyzeJfr -Pjfr=recording.jfr
+ */
+public class PointJfrAnalyzer {
+
+    public static void main(String[] args) throws IOException {
+        if (args.length != 1) {
+            System.err.println("사용법: PointJfrAnalyzer <recording.jfr>");
+            System.exit(1);
+        }
+        print(analyze(Path.of(args[0])), System.out);
+    }
+
+    /**
+     * 단계(type/phase)별 소요 시간(나노초) 목록을 수집
+     */
+    public static Map<String, PhaseDurations> analyze(Path recording) throws IOException {
+        Map<String, PhaseDurations> phases = new TreeMap<>();
+        try (RecordingFile file = new RecordingFile(recording)) {
+            while (file.hasMoreEvents()) {
+                RecordedEvent event = file.readEvent();
+                if (!PointPhaseEvent.NAME.equals(event.getEventType().getName())) {
+                    continue;
+                }
+                String key = event.getString("type") + "/" + event.getString("phase");
+                phases.computeIfAbsent(key, k -> new PhaseDurations()).add(event.getDuration().toNanos());
+            }
+        }
+        return phases;
+    }
+
+    public static void print(Map<String, PhaseDurations> phases, PrintStream out) {
+        out.printf("%-28s %10s %12s %10s %10s %10s %10s%n",
+                "type/phase", "count", "total(ms)", "p50(ms)", "p90(ms)", "p99(ms)", "max(ms)");
+        phases.forEach((key, durations) -> {
+            durations.sort();
+            out.printf("%-28s %10d %12.1f %10.2f %10.2f %10.2f %10.2f%n",
+                    key,
+                    durations.count(),
+                    millis(durations.total()),
+                    millis(durations.percentile(0.50)),
+                    millis(durations.percentile(0.90)),
+                    millis(durations.percentile(0.99)),
+                    millis(durations.percentile(1.0)));
+        });
+    }
+
+    private static double millis(long nanos) {
+        return nanos / 1_000_000.0;
+    }
+
+    /**
+     * 한 단계의 소요 시간 목록 (박싱 없이 long 배열로 보관)
+     */
+    public static final class PhaseDurations {
+
+        private long[] values = new long[1024];
+        private int count;
+        private long total;
+
+        void add(long nanos) {
+            if (count == values.length) {
+                values = Arrays.copyOf(values, count * 2);
+            }
+            values[count++] = nanos;
+            total += nanos;
+        }
+
+        void sort() {
+            Arrays.sort(values, 0, count);
+        }
+
+        public int count() {
+            return count;
+        }
+
+        public long total() {
+            return total;
+        }
+
+        //목적 : 정렬된 값에서 nearest-rank 방식으로 백분위수 계산
+        public long percentile(double percentile) {
+            if (count == 0) {
+                return 0L;
+            }
+            int rank = (int) Math.ceil(percentile * count);
+            return values[Math.max(0, Math.min(count, rank) - 1)];
+        }
+    }
+}
@@ -0,0 +1,228 @@
+package io.hhplus.tdd.point;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractGenericHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * UserPoint, PointHistory, List&lt;PointHistory&gt; 응답 전용 JSON 변환기
+ * Jackson처럼 리플렉션이나 중간 문자열을 거치지 않고 필드를 바로 바이트로 기록한다. 출력 형식은 Jackson 기본 직렬화와 같다.
+ * 사용자별 마지막 UserPoint의 JSON 바이트를 보관하고, 같은 값(record 동등성, 커밋마다 updateMillis가 바뀜)이면 그대로 재사용한다.
+ * 잔액이 0인 UserPoint는 보관하지 않는다. (없는 사용자의 UserPoint.empty는 응답마다 updateMillis가 달라 적중하지 않고 캐시만 밀어낸다)
+ * 응답 전용이므로 요청 본문 읽기는 지원하지 않는다. (요청 본문은 기존 Jackson 변환기가 처리)
+ */
+public class PointJsonHttpMessageConverter extends AbstractGenericHttpMessageConverter<Object> {
+
+    private static final int BUFFER_SIZE = 8 * 1024;
+    // 내역 한 건의 최대 길이 (필드 이름 + long 값 4개 + type)
+    private static final int MAX_HISTORY_BYTES = 192;
+
+    private static final byte[] ID = ascii("{\"id\":");
+    private static final byte[] USER_POINT_POINT = ascii(",\"point\":");
+    private static final byte[] HISTORY_USER_ID = ascii(",\"userId\":");
+    private static final byte[] HISTORY_AMOUNT = ascii(",\"amount\":");
+    private static final byte[] HISTORY_TYPE = ascii(",\"type\":\"");
+    private static final byte[] HISTORY_UPDATE_MILLIS = ascii("\",\"updateMillis\":");
+    private static final byte[] UPDATE_MILLIS = ascii(",\"updateMillis\":");
+    private static final byte[] MIN_LONG = ascii(Long.toString(Long.MIN_VALUE));
+    private static final byte[][] TYPE_NAMES = Arrays.stream(TransactionType.values())
+            .map(type -> ascii(type.name()))
+            .toArray(byte[][]::new);
+
+    // 요청 스레드마다 재사용하는 출력 버퍼
+    private static final ThreadLocal<byte[]> BUFFERS = ThreadLocal.withInitial(() -> new byte[BUFFER_SIZE]);
+
+    private final Cache<Long, CachedUserPoint> userPointJson;
+
+    public PointJsonHttpMessageConverter(long maximumCachedUsers) {
+        super(MediaType.APPLICATION_JSON);
+        if (maximumCachedUsers < 0) {
+            throw new IllegalArgumentException("캐시 크기는 0 이상이어야 합니다");
+        }
+        this.userPointJson = Caffeine.newBuilder()
+                .maximumSize(maximumCachedUsers)
+                .build();
+    }
+
+    @Override
+    protected boolean supports(Class<?> clazz) {
+        return clazz == UserPoint.class || clazz == PointHistory.class;
+    }
+
+    @Override
+    public boolean canRead(Class<?> clazz, MediaType mediaType) {
+        return false;
+    }
+
+    @Override
+    public boolean canRead(Type type, Class<?> contextClass, MediaType mediaType) {
+        return false;
+    }
+
+    @Override
+    public boolean canWrite(Type type, Class<?> clazz, MediaType mediaType) {
+        if (isPointHistoryList(type)) {
+            return canWrite(mediaType);
+        }
+        return super.canWrite(type, clazz, mediaType);
+    }
+
+    @Override
+    public Object read(Type type, Class<?> contextClass, HttpInputMessage inputMessage) {
+        throw new HttpMessageNotReadableException("응답 전용 변환기입니다", inputMessage);
+    }
+
+    @Override
+    protected Object readInternal(Class<?> clazz, HttpInputMessage inputMessage) {
+        throw new HttpMessageNotReadableException("응답 전용 변환기입니다", inputMessage);
+    }
+
+    //목적 : UserPoint는 캐시된 바이트 길이로 Content-Length를 미리 설정
+    @Override
+    protected Long getContentLength(Object value, MediaType contentType) {
+        if (value instanceof UserPoint userPoint) {
+            return (long) toJson(userPoint).length;
+        }
+        return null;
+    }
+
+    @Override
+    protected void writeInternal(Object value, Type type, HttpOutputMessage outputMessage) throws IOException {
+        OutputStream out = outputMessage.getBody();
+        if (value instanceof UserPoint userPoint) {
+            out.write(toJson(userPoint));
+            return;
+        }
+        byte[] buffer = BUFFERS.get();
+        if (value instanceof PointHistory history) {
+            out.write(buffer, 0, writeHistory(buffer, 0, history));
+            return;
+        }
+        writeHistories(out, buffer, (List<?>) value);
+    }
+
+    /**
+     * 사용자의 UserPoint JSON 바이트 (같은 값이면 캐시된 배열을 재사용)
+     */
+    byte[] toJson(UserPoint userPoint) {
+        if (userPoint.point() == 0) {
+            // 없는 사용자(UserPoint.empty)와 구분할 수 없으므로 잔액이 0이면 캐시를 거치지 않는다
+            byte[] buffer = BUFFERS.get();
+            return Arrays.copyOf(buffer, writeUserPoint(buffer, 0, userPoint));
+        }
+        CachedUserPoint cached = userPointJson.getIfPresent(userPoint.id());
+        if (cached != null && cached.userPoint().equals(userPoint)) {
+            return cached.json();
+        }
+        byte[] buffer = BUFFERS.get();
+        int length = writeUserPoint(buffer, 0, userPoint);
+        byte[] json = Arrays.copyOf(buffer, length);
+        // 오래된 값으로 최신 값을 덮어쓰지 않도록 updateMillis가 더 크거나 같을 때만 교체
+        userPointJson.asMap().merge(userPoint.id(), new CachedUserPoint(userPoint, json),
+                (current, fresh) -> fresh.userPoint().updateMillis() >= current.userPoint().updateMillis() ? fresh : current);
+        return json;
+    }
+
+    //목적 : 버퍼가 차면 내보내며 내역 목록을 JSON 배열로 기록
+    private void writeHistories(OutputStream out, byte[] buffer, List<?> histories) throws IOException {
+        int position = 0;
+        buffer[position++] = '[';
+        for (int i = 0; i < histories.size(); i++) {
+            if (buffer.length - position < MAX_HISTORY_BYTES) {
+                out.write(buffer, 0, position);
+                position = 0;
+            }
+            if (i > 0) {
+                buffer[position++] = ',';
+            }
+            position = writeHistory(buffer, position, (PointHistory) histories.get(i));
+        }
+        buffer[position++] = ']';
+        out.write(buffer, 0, position);
+    }
+
+    private static int writeUserPoint(byte[] buffer, int position, UserPoint userPoint) {
+        position = put(buffer, position, ID);
+        position = putLong(buffer, position, userPoint.id());
+        position = put(buffer, position, USER_POINT_POINT);
+        position = putLong(buffer, position, userPoint.point());
+        position = put(buffer, position, UPDATE_MILLIS);
+        position = putLong(buffer, position, userPoint.updateMillis());
+        buffer[position++] = '}';
+        return position;
+    }
+
+    private static int writeHistory(byte[] buffer, int position, PointHistory history) {
+        position = put(buffer, position, ID);
+        position = putLong(buffer, position, history.id());
+        position = put(buffer, position, HISTORY_USER_ID);
+        position = putLong(buffer, position, history.userId());
+        position = put(buffer, position, HISTORY_AMOUNT);
+        position = putLong(buffer, position, history.amount());
+        position = put(buffer, position, HISTORY_TYPE);
+        position = put(buffer, position, TYPE_NAMES[history.type().ordinal()]);
+        position = put(buffer, position, HISTORY_UPDATE_MILLIS);
+        position = putLong(buffer, position, history.updateMillis());
+        buffer[position++] = '}';
+        return position;
+    }
+
+    private static int put(byte[] buffer, int position, byte[] bytes) {
+        System.arraycopy(bytes, 0, buffer, position, bytes.length);
+        return position + bytes.length;
+    }
+
+    //목적 : 문자열을 만들지 않고 long 값을 10진수 ASCII로 기록
+    private static int putLong(byte[] buffer, int position, long value) {
+        if (value == Long.MIN_VALUE) {
+            return put(buffer, position, MIN_LONG);
+        }
+        if (value < 0) {
+            buffer[position++] = '-';
+            value = -value;
+        }
+        int end = position + digitCount(value);
+        int index = end;
+        do {
+            buffer[--index] = (byte) ('0' + value % 10);
+            value /= 10;
+        } while (value != 0);
+        return end;
+    }
+
+    private static int digitCount(long value) {
+        int digits = 1;
+        long limit = 10;
+        while (digits < 19 && value >= limit) {
+            digits++;
+            limit *= 10;
+        }
+        return digits;
+    }
+
+    private static boolean isPointHistoryList(Type type) {
+        return type instanceof ParameterizedType parameterized
+                && parameterized.getRawType() instanceof Class<?> raw
+                && List.class.isAssignableFrom(raw)
+                && parameterized.getActualTypeArguments()[0] == PointHistory.class;
+    }
+
+    private static byte[] ascii(String value) {
+        return value.getBytes(StandardCharsets.US_ASCII);
+    }
+
+    private record CachedUserPoint(UserPoint userPoint, byte[] json) {
+    }
+}
@@ -0,0 +1,91 @@
+package io.hhplus.tdd.point;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * 포인트 기능의 내부 지표를 조회하는 관리용 API
+ */
+@RestController
+@RequestMapping("/point/metrics")
+public class PointMetricsController {
+
+    private final HedgedUserPointReader hedgedUserPointReader;
+    private final UserPointCache userPointCache;
+    private final DataInitializer dataInitializer;
+    private final OptimisticRetryPolicy optimisticRetryPolicy;
+    private final PointOutboxRelay pointOutboxRelay;
+    private final PointReconciler pointReconciler;
+
+    public PointMetricsController(HedgedUserPointReader hedgedUserPointReader, UserPointCache userPointCache,
+                                  DataInitializer dataInitializer, OptimisticRetryPolicy optimisticRetryPolicy,
+                                  PointOutboxRelay pointOutboxRelay, PointReconciler pointReconciler) {
+        this.hedgedUserPointReader = hedgedUserPointReader;
+        this.userPointCache = userPointCache;
+        this.dataInitializer = dataInitializer;
+        this.optimisticRetryPolicy = optimisticRetryPolicy;
+        this.pointOutboxRelay = pointOutboxRelay;
+        this.pointReconciler = pointReconciler;
+    }
+
+    /**
+     * 헤징 조회 비율과 헤징 전후 p99 지연 시간을 조회합니다.
+     */
+    @GetMapping("hedge")
+    public HedgedUserPointReader.HedgeStats hedge() {
+        return hedgedUserPointReader.stats();
+    }
+
+    /**
+     * 포인트 캐시의 적중/미적중/제거 횟수를 조회합니다.
+     */
+    @GetMapping("cache")
+    public UserPointCache.CacheMetrics cache() {
+        return userPointCache.metrics();
+    }
+
+    /**
+     * 초기 데이터 적재 진행 상황을 조회합니다. 적재가 끝나기 전에는 503을 반환합니다. (readiness probe 용도)
+     */
+    @GetMapping("readiness")
+    public ResponseEntity<DataInitializer.SeedProgress> readiness() {
+        DataInitializer.SeedProgress progress = dataInitializer.progress();
+        return ResponseEntity.status(progress.ready() ? 200 : 503).body(progress);
+    }
+
+    /**
+     * 동시성 제어 방식과 낙관적 커밋/충돌/비관적 전환 횟수를 조회합니다.
+     */
+    @GetMapping("concurrency")
+    public OptimisticRetryPolicy.OptimisticStats concurrency() {
+        return optimisticRetryPolicy.stats();
+    }
+
+    /**
+     * outbox에 쌓인 변경 수와 relay의 전송/실패 횟수를 조회합니다.
+     */
+    @GetMapping("outbox")
+    public PointOutboxRelay.RelayStats outbox() {
+        return pointOutboxRelay.stats();
+    }
+
+    /**
+     * 잔액-내역 정합성 점검의 진행 상황과 마지막 결과를 조회합니다.
+     */
+    @GetMapping("reconciliation")
+    public PointReconciler.ReconciliationProgress reconciliation() {
+        return pointReconciler.progress();
+    }
+
+    /**
+     * 잔액-내역 정합성 점검을 백그라운드로 시작합니다. 이미 실행 중이면 409, 초기 데이터 적재 중이면 503을 반환합니다.
+     */
+    @PostMapping("reconciliation")
+    public ResponseEntity<PointReconciler.ReconciliationProgress> startReconciliation() {
+        boolean started = pointReconciler.start();
+        return ResponseEntity.status(started ? 202 : 409).body(pointReconciler.progress());
+    }
+}
@@ -0,0 +1,215 @@
+package io.hhplus.tdd.point;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 커밋된 포인트 변경을 외부 시스템에 전달하기 위해 쌓아두는 프로세스 내부 outbox
+ * PointChangedEvent는 사용자 Lock 안에서 동기적으로 발행되므로, 내역 기록과 같은 임계 구역에서 outbox에 추가된다.
+ * 추가는 전역 Lock 없이 offset을 원자적으로 예약한 뒤 해당 칸에 기록하므로, 서로 다른 사용자의 커밋끼리 막지 않는다.
+ * 각 변경에는 단조 증가하는 offset이 붙고, 소비자(consumer)는 처리한 offset을 커밋한다.
+ * 모든 소비자가 커밋한 offset 아래의 항목은 chunk 단위로 제거한다.
+ *
+ * outbox는 메모리에만 있으므로 at-least-once 전달은 프로세스가 살아있는 동안만 보장된다.
+ * 종료 시 전송하지 못한 항목은 사라지고, 재시작하면 offset이 0부터 다시 시작하므로 소비자는 (epoch, offset)으로 중복을 구분해야 한다.
+ */
+@Component
+public class PointOutbox {
+
+    private static final Logger log = LoggerFactory.getLogger(PointOutbox.class);
+
+    private static final int CHUNK_SHIFT = 12;
+    private static final int CHUNK_SIZE = 1 << CHUNK_SHIFT;
+    private static final int CHUNK_MASK = CHUNK_SIZE - 1;
+
+    private final boolean enabled;
+    private final long capacity;
+    // 이 프로세스가 발급한 offset을 재시작 이후의 offset과 구분하기 위한 값
+    private final long epoch = System.currentTimeMillis();
+    // chunk 번호(offset >> CHUNK_SHIFT)별 항목 배열
+    private final ConcurrentHashMap<Long, Chunk> chunks = new ConcurrentHashMap<>();
+    // 마지막으로 추가한 chunk (대부분의 추가가 같은 chunk에 기록되므로 map 조회를 건너뛴다)
+    private volatile Chunk tail = new Chunk(-1L);
+    private final AtomicLong nextOffset = new AtomicLong();
+    private final LongAdder overCapacityAppends = new LongAdder();
+    // 소비자 offset과 chunk 제거는 relay 쪽에서만 일어나므로 this로 동기화한다
+    private final Map<String, Long> committedOffsets = new HashMap<>();
+    // 남아있는 가장 오래된 offset (chunk 단위로만 증가)
+    private volatile long headOffset;
+    // 가장 느린 소비자가 커밋한 offset (소비자가 없으면 headOffset)
+    private volatile long minCommittedOffset;
+
+    public PointOutbox(@Value("${point.outbox.enabled:true}") boolean enabled,
+                       @Value("${point.outbox.capacity:1000000}") long capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("outbox 용량은 0보다 커야합니다");
+        }
+        this.enabled = enabled;
+        this.capacity = capacity;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * 아직 처리되지 않은 항목이 용량 미만이면 true (새 충전/사용을 받아도 되는지 판단할 때 사용)
+     */
+    public boolean hasCapacity() {
+        return !enabled || nextOffset.get() - minCommittedOffset < capacity;
+    }
+
+    /**
+     * 커밋된 충전/사용을 outbox에 추가 (초기 데이터 적재로 발행된 이벤트는 제외)
+     * 이미 커밋된 변경이므로 용량을 넘어도 버리거나 실패시키지 않고 기록한 뒤 경고만 남긴다.
+     */
+    @EventListener
+    public void onPointChanged(PointChangedEvent event) {
+        if (!enabled || event.history() == null) {
+            return;
+        }
+        PointHistory history = event.history();
+        long offset = append(history, event.userPoint().point());
+        long pending = offset - minCommittedOffset;
+        if (pending >= capacity) {
+            overCapacityAppends.increment();
+            // 용량을 넘은 첫 항목과 이후 chunk마다 한 번씩만 기록
+            if (pending == capacity || (offset & CHUNK_MASK) == 0) {
+                log.warn("outbox가 용량({})을 넘었습니다. 소비자가 따라오지 못하고 있습니다. offset={}", capacity, offset);
+            }
+        }
+    }
+
+    private long append(PointHistory history, long balance) {
+        long offset = nextOffset.getAndIncrement();
+        long index = offset >> CHUNK_SHIFT;
+        Chunk chunk = tail;
+        if (chunk.index != index) {
+            chunk = chunks.computeIfAbsent(index, Chunk::new);
+            if (chunk.index > tail.index) {
+                tail = chunk;
+            }
+        }
+        chunk.events.setRelease((int) (offset & CHUNK_MASK), new OutboxEvent(epoch, offset, history.id(), history.userId(),
+                history.type(), history.amount(), balance, history.updateMillis()));
+        return offset;
+    }
+
+    /**
+     * 소비자를 등록하고 시작 offset을 반환 (이미 등록되어 있으면 커밋된 offset을 그대로 반환)
+     * 새 소비자는 아직 남아있는 가장 오래된 항목부터 읽는다.
+     */
+    public synchronized long register(String consumer) {
+        long offset = committedOffsets.computeIfAbsent(consumer, name -> headOffset);
+        updateMinCommitted();
+        return offset;
+    }
+
+    public synchronized long committedOffset(String consumer) {
+        Long offset = committedOffsets.get(consumer);
+        if (offset == null) {
+            throw new IllegalArgumentException("등록되지 않은 소비자입니다: " + consumer);
+        }
+        return offset;
+    }
+
+    /**
+     * fromOffset부터 최대 maxEvents개를 offset 순서대로 반환
+     * offset을 예약했지만 아직 기록 중인 항목을 만나면 그 앞까지만 반환한다. (순서가 비지 않도록)
+     */
+    public List<OutboxEvent> read(long fromOffset, int maxEvents) {
+        if (fromOffset < headOffset) {
+            throw new IllegalArgumentException("이미 제거된 offset입니다: " + fromOffset);
+        }
+        long end = Math.min(nextOffset.get(), fromOffset + maxEvents);
+        List<OutboxEvent> events = new ArrayList<>((int) Math.max(0, end - fromOffset));
+        Chunk chunk = null;
+        for (long offset = fromOffset; offset < end; offset++) {
+            if (chunk == null || (offset & CHUNK_MASK) == 0) {
+                chunk = chunks.get(offset >> CHUNK_SHIFT);
+            }
+            OutboxEvent event = (chunk == null) ? null : chunk.events.get((int) (offset & CHUNK_MASK));
+            if (event == null) {
+                break;
+            }
+            events.add(event);
+        }
+        return events;
+    }
+
+    /**
+     * 소비자가 nextOffset 이전까지 처리했음을 커밋하고, 모든 소비자가 지나간 chunk를 제거
+     */
+    public synchronized void commit(String consumer, long nextOffset) {
+        long current = committedOffset(consumer);
+        if (nextOffset > this.nextOffset.get()) {
+            throw new IllegalArgumentException("아직 추가되지 않은 offset입니다: " + nextOffset);
+        }
+        if (nextOffset <= current) {
+            return;
+        }
+        committedOffsets.put(consumer, nextOffset);
+        updateMinCommitted();
+        trim();
+    }
+
+    public synchronized OutboxStats stats() {
+        long appended = nextOffset.get();
+        return new OutboxStats(appended, headOffset, appended - minCommittedOffset, capacity,
+                overCapacityAppends.sum(), epoch, Map.copyOf(committedOffsets));
+    }
+
+    private void updateMinCommitted() {
+        long min = Long.MAX_VALUE;
+        for (long offset : committedOffsets.values()) {
+            min = Math.min(min, offset);
+        }
+        minCommittedOffset = (min == Long.MAX_VALUE) ? headOffset : min;
+    }
+
+    //목적 : 가장 느린 소비자의 커밋 offset보다 앞선 chunk 제거
+    private void trim() {
+        // 커밋 offset 이전 칸은 모두 기록이 끝났으므로, 조건을 만족하는 chunk에 더 기록할 스레드는 없다
+        while (headOffset + CHUNK_SIZE <= minCommittedOffset) {
+            chunks.remove(headOffset >> CHUNK_SHIFT);
+            headOffset += CHUNK_SIZE;
+        }
+    }
+
+    private static final class Chunk {
+
+        private final long index;
+        private final AtomicReferenceArray<OutboxEvent> events = new AtomicReferenceArray<>(CHUNK_SIZE);
+
+        private Chunk(long index) {
+            this.index = index;
+        }
+    }
+
+    /**
+     * outbox 항목 (balance는 커밋 직후의 잔액, epoch는 항목을 추가한 프로세스의 시작 시각)
+     */
+    public record OutboxEvent(long epoch, long offset, long historyId, long userId, TransactionType type, long amount,
+                              long balance, long updateMillis) {
+    }
+
+    /**
+     * appended: 지금까지 추가된 항목 수, retainedFrom: 남아있는 가장 오래된 offset,
+     * pending: 가장 느린 소비자 기준 아직 처리되지 않은 항목 수, overCapacityAppends: 용량을 넘은 상태에서 추가된 항목 수
+     */
+    public record OutboxStats(long appended, long retainedFrom, long pending, long capacity, long overCapacityAppends,
+                              long epoch, Map<String, Long> committedOffsets) {
+    }
+}
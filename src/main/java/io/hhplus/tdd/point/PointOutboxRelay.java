@@ -0,0 +1,126 @@
+package io.hhplus.tdd.point;
+
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * outbox에 쌓인 변경을 배치로 묶어 PointEventSink로 보내는 백그라운드 relay
+ * 전송이 성공한 뒤에만 offset을 커밋하므로, 실패하거나 커밋 전에 종료되면 같은 항목을 다시 보낸다. (at-least-once)
+ * 요청 스레드는 outbox에 추가만 하고, 전송 비용은 배치 단위로 relay 스레드가 부담한다.
+ */
+@Component
+public class PointOutboxRelay {
+
+    private static final Logger log = LoggerFactory.getLogger(PointOutboxRelay.class);
+
+    private final PointOutbox outbox;
+    private final PointEventSink sink;
+    private final String consumer;
+    private final int batchSize;
+    private final long pollIntervalMillis;
+    private final long retryBackoffMillis;
+    private final Thread worker;
+
+    private final AtomicLong sentBatches = new AtomicLong();
+    private final AtomicLong sentEvents = new AtomicLong();
+    private final AtomicLong failures = new AtomicLong();
+
+    public PointOutboxRelay(PointOutbox outbox, PointEventSink sink,
+                            @Value("${point.outbox.consumer:relay}") String consumer,
+                            @Value("${point.outbox.batch-size:512}") int batchSize,
+                            @Value("${point.outbox.poll-interval-ms:20}") long pollIntervalMillis,
+                            @Value("${point.outbox.retry-backoff-ms:1000}") long retryBackoffMillis) {
+        if (batchSize <= 0 || pollIntervalMillis <= 0 || retryBackoffMillis <= 0) {
+            throw new IllegalArgumentException("배치 크기와 대기 간격은 0보다 커야합니다");
+        }
+        this.outbox = outbox;
+        this.sink = sink;
+        this.consumer = consumer;
+        this.batchSize = batchSize;
+        this.pollIntervalMillis = pollIntervalMillis;
+        this.retryBackoffMillis = retryBackoffMillis;
+        this.worker = new Thread(this::run, "point-outbox-relay");
+        this.worker.setDaemon(true);
+        if (outbox.isEnabled()) {
+            outbox.register(consumer);
+            worker.start();
+        }
+    }
+
+    /**
+     * 배치 하나를 전송하고 전송한 항목 수를 반환 (전송할 항목이 없으면 0)
+     */
+    public int relayOnce() {
+        long offset = outbox.committedOffset(consumer);
+        List<PointOutbox.OutboxEvent> batch = outbox.read(offset, batchSize);
+        if (batch.isEmpty()) {
+            return 0;
+        }
+        sink.send(batch);
+        outbox.commit(consumer, batch.get(batch.size() - 1).offset() + 1);
+        sentBatches.incrementAndGet();
+        sentEvents.addAndGet(batch.size());
+        return batch.size();
+    }
+
+    public RelayStats stats() {
+        PointOutbox.OutboxStats outboxStats = outbox.stats();
+        return new RelayStats(outboxStats.appended(), outbox.isEnabled() ? outbox.committedOffset(consumer) : 0L,
+                outboxStats.pending(), outboxStats.capacity(), outboxStats.overCapacityAppends(),
+                sentBatches.get(), sentEvents.get(), failures.get());
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        worker.interrupt();
+        worker.join(TimeUnit.SECONDS.toMillis(1));
+        if (!outbox.isEnabled() || worker.isAlive()) {
+            return;
+        }
+        // 종료 전에 남은 변경을 한 번 더 전송 시도 (실패하면 포기)
+        try {
+            while (relayOnce() > 0) {
+                // 남은 배치가 없을 때까지 반복
+            }
+        } catch (RuntimeException e) {
+            log.warn("종료 중 남은 포인트 변경 전송에 실패했습니다. pending={}", outbox.stats().pending(), e);
+        }
+    }
+
+    private void run() {
+        while (!Thread.currentThread().isInterrupted()) {
+            try {
+                // 배치가 가득 찼으면 쉬지 않고 이어서 전송하여 변경 속도를 따라간다
+                int sent = relayOnce();
+                if (sent < batchSize) {
+                    TimeUnit.MILLISECONDS.sleep(pollIntervalMillis);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (RuntimeException e) {
+                failures.incrementAndGet();
+                log.warn("포인트 변경 전송에 실패했습니다. {}ms 후 같은 배치를 다시 보냅니다", retryBackoffMillis, e);
+                try {
+                    TimeUnit.MILLISECONDS.sleep(retryBackoffMillis);
+                } catch (InterruptedException interrupted) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        }
+    }
+
+    /**
+     * appended: outbox에 추가된 항목 수, committedOffset: 이 relay가 커밋한 offset,
+     * pending: 아직 전송되지 않은 항목 수 (capacity 이상이면 새 충전/사용을 503으로 거절)
+     */
+    public record RelayStats(long appended, long committedOffset, long pending, long capacity,
+                             long overCapacityAppends, long sentBatches, long sentEvents, long failures) {
+    }
+}
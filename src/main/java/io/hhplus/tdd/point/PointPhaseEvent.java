@@ -0,0 +1,62 @@
+package io.hhplus.tdd.point;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * 포인트 요청 처리 단계별 소요 시간을 기록하는 JFR 이벤트
+ * 기록(recording)이 꺼져 있으면 isEnabled()가 false이므로 필드 설정과 commit을 모두 건너뛴다.
+ */
+@Name(PointPhaseEvent.NAME)
+@Label("Point Phase")
+@Category({"HHPlus", "Point"})
+@Description("포인트 조회/충전/사용의 단계별 소요 시간")
+public class PointPhaseEvent extends Event {
+
+    public static final String NAME = "io.hhplus.tdd.PointPhase";
+
+    public static final String VALIDATION = "validation";
+    public static final String LOCK_WAIT = "lockWait";
+    public static final String LOCK_HOLD = "lockHold";
+    public static final String SELECT_BY_ID = "selectById";
+    public static final String SELECT_HISTORIES = "selectAllByUserId";
+    public static final String HISTORY_INSERT = "historyInsert";
+    public static final String INSERT_OR_UPDATE = "insertOrUpdate";
+
+    public static final String READ = "READ";
+
+    @Label("User ID")
+    long userId;
+
+    @Label("Type")
+    String type;
+
+    @Label("Phase")
+    String phase;
+
+    /**
+     * 단계 측정을 시작 (기록 중이 아니면 아무것도 하지 않음)
+     */
+    public static PointPhaseEvent start(long userId, String type, String phase) {
+        PointPhaseEvent event = new PointPhaseEvent();
+        if (event.isEnabled()) {
+            event.userId = userId;
+            event.type = type;
+            event.phase = phase;
+            event.begin();
+        }
+        return event;
+    }
+
+    /**
+     * 단계 측정을 종료하고 기록
+     */
+    public void finish() {
+        if (isEnabled()) {
+            commit();
+        }
+    }
+}
@@ -0,0 +1,462 @@
+package io.hhplus.tdd.point;
+
+import io.hhplus.tdd.ServiceUnavailableException;
+import io.hhplus.tdd.database.PointHistoryTable;
+import io.hhplus.tdd.database.UserPointTable;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.Lock;
+import java.util.function.BooleanSupplier;
+
+/**
+ * 사용자 잔액과 내역 합계(CHARGE - USE)가 일치하는지 검증하는 정합성 점검 작업
+ * 사용자마다 selectAllByUserId를 호출하지 않고, PointHistoryLog를 fork-join으로 한 번만 병렬 순회하여 사용자별 합계를 만든다.
+ * 스냅샷을 기준 시점으로 삼으므로 점검 중 커밋되는 변경 때문에 불일치로 오판하지 않으며, 순회 중에는 사용자 Lock을 잡지 않는다.
+ * 불일치 후보만 사용자 Lock을 잠깐 잡고 테이블에서 다시 확인한다.
+ * 초기 데이터 적재 중에는 잔액과 내역이 함께 채워지는 중이므로 점검하지 않는다.
+ */
+@Component
+public class PointReconciler {
+
+    private static final Logger log = LoggerFactory.getLogger(PointReconciler.class);
+    private static final int MIN_LEAF_SIZE = 1 << 14;
+    private static final int MAX_REPORTED_DRIFTS = 100;
+
+    private final PointSnapshotStore pointSnapshotStore;
+    private final PointHistoryLog pointHistoryLog;
+    private final UserPointTable userPointTable;
+    private final PointHistoryTable pointHistoryTable;
+    private final UserLockManager lockManager;
+    private final BooleanSupplier ready;
+    private final int minLeafSize;
+    private final ForkJoinPool pool;
+    private final int maxRechecks;
+    private final ScheduledExecutorService runner;
+
+    private final AtomicBoolean running = new AtomicBoolean();
+    private final AtomicReference<String> phase = new AtomicReference<>("IDLE");
+    private final AtomicLong scannedHistories = new AtomicLong();
+    private final AtomicLong totalHistories = new AtomicLong();
+    private final AtomicLong checkedUsers = new AtomicLong();
+    private final AtomicLong startedAtNanos = new AtomicLong();
+    private final AtomicReference<ReconciliationReport> lastReport = new AtomicReference<>();
+
+    @Autowired
+    public PointReconciler(PointSnapshotStore pointSnapshotStore, PointHistoryLog pointHistoryLog,
+                           UserPointTable userPointTable, PointHistoryTable pointHistoryTable,
+                           UserLockManager lockManager, DataInitializer dataInitializer,
+                           @Value("${point.reconciliation.parallelism:0}") int parallelism,
+                           @Value("${point.reconciliation.max-rechecks:100}") int maxRechecks,
+                           @Value("${point.reconciliation.interval-ms:0}") long intervalMillis) {
+        this(pointSnapshotStore, pointHistoryLog, userPointTable, pointHistoryTable, lockManager,
+                dataInitializer::isReady, parallelism, maxRechecks, intervalMillis, MIN_LEAF_SIZE);
+    }
+
+    /**
+     * ready: 점검을 시작해도 되는지 (초기 데이터 적재 완료 여부), minLeafSize: fork-join 구간의 최소 내역 수
+     */
+    PointReconciler(PointSnapshotStore pointSnapshotStore, PointHistoryLog pointHistoryLog,
+                    UserPointTable userPointTable, PointHistoryTable pointHistoryTable,
+                    UserLockManager lockManager, BooleanSupplier ready,
+                    int parallelism, int maxRechecks, long intervalMillis, int minLeafSize) {
+        if (maxRechecks < 0) {
+            throw new IllegalArgumentException("재확인 최대 사용자 수는 0 이상이어야 합니다");
+        }
+        if (minLeafSize <= 0) {
+            throw new IllegalArgumentException("구간의 최소 내역 수는 0보다 커야합니다");
+        }
+        this.pointSnapshotStore = pointSnapshotStore;
+        this.pointHistoryLog = pointHistoryLog;
+        this.userPointTable = userPointTable;
+        this.pointHistoryTable = pointHistoryTable;
+        this.lockManager = lockManager;
+        this.ready = ready;
+        this.minLeafSize = minLeafSize;
+        // 공용 풀(commonPool)을 쓰는 다른 작업을 막지 않도록 전용 풀 사용 (0이면 CPU 코어 수)
+        this.pool = new ForkJoinPool(parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors());
+        this.maxRechecks = maxRechecks;
+        this.runner = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "point-reconciler");
+            thread.setDaemon(true);
+            return thread;
+        });
+        // 주기 점검 (0이면 API 요청으로만 실행, 초기 데이터 적재가 끝나기 전 주기는 건너뛴다)
+        if (intervalMillis > 0) {
+            runner.scheduleWithFixedDelay(this::startIfReady, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * 백그라운드에서 점검을 시작하고, 이미 실행 중이면 false를 반환
+     * 초기 데이터 적재가 끝나기 전에는 ServiceUnavailableException
+     */
+    public boolean start() {
+        checkReady();
+        if (!running.compareAndSet(false, true)) {
+            return false;
+        }
+        runner.execute(() -> {
+            try {
+                reconcileInternal();
+            } catch (RuntimeException e) {
+                log.error("정합성 점검에 실패했습니다", e);
+            } finally {
+                phase.set("IDLE");
+                running.set(false);
+            }
+        });
+        return true;
+    }
+
+    /**
+     * 호출 스레드에서 점검을 실행하고 결과를 반환 (이미 실행 중이면 IllegalStateException)
+     * 초기 데이터 적재가 끝나기 전에는 ServiceUnavailableException
+     */
+    public ReconciliationReport reconcile() {
+        checkReady();
+        if (!running.compareAndSet(false, true)) {
+            throw new IllegalStateException("정합성 점검이 이미 실행 중입니다");
+        }
+        try {
+            return reconcileInternal();
+        } finally {
+            phase.set("IDLE");
+            running.set(false);
+        }
+    }
+
+    public ReconciliationProgress progress() {
+        long elapsedNanos = running.get() ? System.nanoTime() - startedAtNanos.get() : 0L;
+        long scanned = scannedHistories.get();
+        double throughput = elapsedNanos > 0 ? scanned * 1_000_000_000.0 / elapsedNanos : 0.0;
+        return new ReconciliationProgress(running.get(), phase.get(), scanned, totalHistories.get(),
+                checkedUsers.get(), throughput, lastReport.get());
+    }
+
+    //목적 : 적재 중에는 잔액만 있고 내역은 아직 없는 사용자가 불일치로 보고되므로 점검을 막는다
+    private void checkReady() {
+        if (!ready.getAsBoolean()) {
+            throw new ServiceUnavailableException("초기 데이터 적재 중에는 정합성 점검을 할 수 없습니다.");
+        }
+    }
+
+    //목적 : 주기 점검 (예외를 던지면 이후 주기가 취소되므로 적재 중에는 건너뛰기만 한다)
+    private void startIfReady() {
+        if (!ready.getAsBoolean()) {
+            log.debug("초기 데이터 적재 중이므로 정합성 점검을 건너뜁니다");
+            return;
+        }
+        start();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        runner.shutdownNow();
+        pool.shutdownNow();
+    }
+
+    private ReconciliationReport reconcileInternal() {
+        startedAtNanos.set(System.nanoTime());
+        scannedHistories.set(0);
+        checkedUsers.set(0);
+
+        try (PointSnapshotStore.Snapshot snapshot = pointSnapshotStore.open()) {
+            List<PointSnapshotStore.Entry> entries = new ArrayList<>();
+            snapshot.forEach(entries::add);
+
+            // 1. 스냅샷 시점까지 기록된 내역을 한 번만 병렬 순회하여 사용자별 합계 계산
+            phase.set("SCAN");
+            int historyLogSize = snapshot.historyLogSize();
+            totalHistories.set(historyLogSize);
+            // 구간이 잘게 나뉠수록 병합 비용(사용자 수에 비례)이 커지므로 스레드당 몇 개 구간으로만 나눈다
+            int leafSize = Math.max(minLeafSize, historyLogSize / (pool.getParallelism() * 4) + 1);
+            HistorySums sums = pool.invoke(new ScanTask(0, historyLogSize, leafSize, entries.size()));
+            long scanNanos = System.nanoTime() - startedAtNanos.get();
+
+            // 2. 스냅샷 잔액과 병렬 비교
+            phase.set("COMPARE");
+            List<Drift> candidates = pool.submit(() -> entries.parallelStream()
+                    .map(entry -> compare(entry, sums))
+                    .filter(drift -> drift != null)
+                    .toList()).join();
+
+            // 3. 불일치 후보만 사용자 Lock을 잠깐 잡고 테이블에서 재확인
+            phase.set("RECHECK");
+            List<Drift> drifts = new ArrayList<>(candidates.size());
+            int rechecked = 0;
+            for (Drift candidate : candidates) {
+                Drift drift = (rechecked++ < maxRechecks) ? recheck(candidate) : candidate;
+                // 재확인에서 일치하면 스냅샷 이후의 정상 변경이므로 보고하지 않는다
+                if (drift != null) {
+                    drifts.add(drift);
+                }
+            }
+            drifts.sort(Comparator.comparingLong(Drift::userId));
+
+            long elapsedNanos = System.nanoTime() - startedAtNanos.get();
+            long confirmed = drifts.stream().filter(Drift::confirmed).count();
+            ReconciliationReport report = new ReconciliationReport(
+                    snapshot.sequence(),
+                    historyLogSize,
+                    entries.size(),
+                    candidates.size(),
+                    confirmed,
+                    List.copyOf(drifts.subList(0, Math.min(drifts.size(), MAX_REPORTED_DRIFTS))),
+                    TimeUnit.NANOSECONDS.toMillis(elapsedNanos),
+                    scanNanos > 0 ? historyLogSize * 1_000_000_000.0 / scanNanos : 0.0);
+            lastReport.set(report);
+            if (confirmed > 0) {
+                log.warn("잔액과 내역 합계가 다른 사용자가 있습니다. confirmed={}, candidates={}", confirmed, candidates.size());
+            }
+            return report;
+        }
+    }
+
+    //목적 : 스냅샷 시점의 잔액과 내역 합계 비교 (일치하면 null)
+    private Drift compare(PointSnapshotStore.Entry entry, HistorySums sums) {
+        checkedUsers.incrementAndGet();
+        long userId = entry.userPoint().id();
+        long balance = entry.userPoint().point();
+        long historyCount = entry.historyCount();
+        int slot = sums.find(userId);
+        long count = (slot < 0) ? 0L : sums.counts[slot];
+        long total = (slot < 0) ? 0L : sums.totals[slot];
+        long expected;
+        if (count == historyCount) {
+            expected = total;
+        } else if (count == historyCount + 1) {
+            // 스냅샷 직전에 내역만 기록되고 잔액은 아직 반영되지 않은 커밋 (사용자 Lock 때문에 최대 1건)
+            expected = total - sums.lasts[slot];
+        } else {
+            return new Drift(userId, balance, total, historyCount, false);
+        }
+        return (balance == expected) ? null : new Drift(userId, balance, expected, historyCount, false);
+    }
+
+    //목적 : 사용자 Lock 안에서 테이블을 직접 읽어 불일치가 실제인지 확인 (일치하면 null)
+    private Drift recheck(Drift candidate) {
+        long userId = candidate.userId();
+        Lock lock = lockManager.getLock(userId);
+        lock.lock();
+        try {
+            long expected = 0L;
+            List<PointHistory> histories = pointHistoryTable.selectAllByUserId(userId);
+            for (PointHistory history : histories) {
+                expected += signedAmount(history);
+            }
+            long balance = userPointTable.selectById(userId).point();
+            return (balance == expected) ? null : new Drift(userId, balance, expected, histories.size(), true);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private static long signedAmount(PointHistory history) {
+        return (history.type() == TransactionType.CHARGE) ? history.amount() : -history.amount();
+    }
+
+    /**
+     * 사용자별 내역 합계, 건수, 마지막 내역의 금액을 담는 open addressing 해시 테이블
+     * 사용자 수만큼 Long 키와 합계 객체를 만들지 않도록 병렬 배열에 원시 타입으로 보관한다.
+     */
+    private static final class HistorySums {
+
+        private static final long EMPTY = Long.MIN_VALUE;
+
+        private long[] userIds;
+        private long[] totals;
+        private long[] counts;
+        private long[] lasts;
+        private int size;
+
+        private HistorySums(int expectedUsers) {
+            int capacity = Integer.highestOneBit(Math.max(16, expectedUsers * 2 - 1)) << 1;
+            allocate(capacity);
+        }
+
+        private void add(long userId, long amount) {
+            int slot = slotOf(userId);
+            if (userIds[slot] == EMPTY) {
+                slot = insert(userId, slot);
+            }
+            totals[slot] += amount;
+            counts[slot]++;
+            lasts[slot] = amount;
+        }
+
+        //목적 : 로그에서 뒤에 있는 구간(right)의 합계를 이어붙인다
+        private void mergeRight(HistorySums right) {
+            for (int i = 0; i < right.userIds.length; i++) {
+                if (right.userIds[i] == EMPTY) {
+                    continue;
+                }
+                int slot = slotOf(right.userIds[i]);
+                if (userIds[slot] == EMPTY) {
+                    slot = insert(right.userIds[i], slot);
+                }
+                totals[slot] += right.totals[i];
+                counts[slot] += right.counts[i];
+                lasts[slot] = right.lasts[i];
+            }
+        }
+
+        //목적 : 로그에서 앞에 있는 구간(left)의 합계를 앞에 이어붙인다 (마지막 금액은 유지)
+        private void mergeLeft(HistorySums left) {
+            for (int i = 0; i < left.userIds.length; i++) {
+                if (left.userIds[i] == EMPTY) {
+                    continue;
+                }
+                int slot = slotOf(left.userIds[i]);
+                if (userIds[slot] == EMPTY) {
+                    slot = insert(left.userIds[i], slot);
+                    lasts[slot] = left.lasts[i];
+                }
+                totals[slot] += left.totals[i];
+                counts[slot] += left.counts[i];
+            }
+        }
+
+        /**
+         * 사용자의 슬롯 번호, 없으면 -1
+         */
+        private int find(long userId) {
+            int slot = slotOf(userId);
+            return (userIds[slot] == EMPTY) ? -1 : slot;
+        }
+
+        private int slotOf(long userId) {
+            int mask = userIds.length - 1;
+            int slot = (int) (mix(userId) & mask);
+            while (userIds[slot] != EMPTY && userIds[slot] != userId) {
+                slot = (slot + 1) & mask;
+            }
+            return slot;
+        }
+
+        private int insert(long userId, int slot) {
+            if ((size + 1) * 2 > userIds.length) {
+                grow();
+                slot = slotOf(userId);
+            }
+            userIds[slot] = userId;
+            size++;
+            return slot;
+        }
+
+        private void grow() {
+            long[] oldUserIds = userIds;
+            long[] oldTotals = totals;
+            long[] oldCounts = counts;
+            long[] oldLasts = lasts;
+            allocate(oldUserIds.length * 2);
+            for (int i = 0; i < oldUserIds.length; i++) {
+                if (oldUserIds[i] == EMPTY) {
+                    continue;
+                }
+                int slot = slotOf(oldUserIds[i]);
+                userIds[slot] = oldUserIds[i];
+                totals[slot] = oldTotals[i];
+                counts[slot] = oldCounts[i];
+                lasts[slot] = oldLasts[i];
+            }
+        }
+
+        private void allocate(int capacity) {
+            userIds = new long[capacity];
+            Arrays.fill(userIds, EMPTY);
+            totals = new long[capacity];
+            counts = new long[capacity];
+            lasts = new long[capacity];
+        }
+
+        //목적 : 연속된 사용자 ID가 인접 슬롯에 몰리지 않도록 해시를 섞는다
+        private static long mix(long value) {
+            value ^= value >>> 33;
+            value *= 0xff51afd7ed558ccdL;
+            value ^= value >>> 33;
+            return value;
+        }
+    }
+
+    /**
+     * PointHistoryLog의 [from, to) 구간을 사용자별로 합산하는 fork-join 작업
+     */
+    private final class ScanTask extends RecursiveTask<HistorySums> {
+
+        private final int from;
+        private final int to;
+        private final int leafSize;
+        // 스냅샷의 사용자 수 (한 구간의 사용자 수는 구간 길이와 이 값을 넘지 않는다)
+        private final int users;
+
+        private ScanTask(int from, int to, int leafSize, int users) {
+            this.from = from;
+            this.to = to;
+            this.leafSize = leafSize;
+            this.users = users;
+        }
+
+        @Override
+        protected HistorySums compute() {
+            if (to - from <= leafSize) {
+                // 사용자 수가 구간 길이보다 훨씬 적을 때 빈 슬롯만 큰 배열을 구간마다 할당하지 않는다
+                HistorySums sums = new HistorySums(Math.min(to - from, users));
+                for (int i = from; i < to; i++) {
+                    PointHistory history = pointHistoryLog.get(i);
+                    sums.add(history.userId(), signedAmount(history));
+                }
+                scannedHistories.addAndGet(to - from);
+                return sums;
+            }
+            int middle = (from + to) >>> 1;
+            ScanTask left = new ScanTask(from, middle, leafSize, users);
+            ScanTask right = new ScanTask(middle, to, leafSize, users);
+            right.fork();
+            HistorySums leftSums = left.compute();
+            HistorySums rightSums = right.join();
+            // 순서를 지키며 작은 쪽을 큰 쪽에 합친다
+            if (leftSums.size >= rightSums.size) {
+                leftSums.mergeRight(rightSums);
+                return leftSums;
+            }
+            rightSums.mergeLeft(leftSums);
+            return rightSums;
+        }
+    }
+
+    /**
+     * confirmed: 사용자 Lock 안에서 테이블을 다시 읽어도 불일치하면 true, max-rechecks를 넘어 재확인하지 못한 후보는 false
+     */
+    public record Drift(long userId, long balance, long expected, long historyCount, boolean confirmed) {
+    }
+
+    /**
+     * driftCandidates: 스냅샷 비교에서 불일치한 사용자 수, drifts: 확인된 불일치와 재확인하지 못한 후보 (최대 100건)
+     */
+    public record ReconciliationReport(long snapshotSequence, long historiesScanned, long usersChecked,
+                                       long driftCandidates, long confirmedDrifts, List<Drift> drifts,
+                                       long elapsedMillis, double historiesPerSecond) {
+    }
+
+    public record ReconciliationProgress(boolean running, String phase, long scannedHistories, long totalHistories,
+                                         long checkedUsers, double historiesPerSecond,
+                                         ReconciliationReport lastReport) {
+    }
+}
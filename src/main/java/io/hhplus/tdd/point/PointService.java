@@ -3,7 +3,8 @@ package io.hhplus.tdd.point;
 import io.hhplus.tdd.database.PointHistoryTable;
 import io.hhplus.tdd.database.UserPointTable;
 import java.util.List;
-import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.Lock;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 
 @Service
@@ -12,6 +13,15 @@ public class PointService {
     private final UserPointTable userPointTable;
     private final PointHistoryTable pointHistoryTable;
     private final UserLockManager lockManager;
+    private final KnownUserFilter knownUserFilter;
+    private final PointHistoryLog pointHistoryLog;
+    private final UserVersionManager versionManager;
+    private final ApplicationEventPublisher eventPublisher;
+    private final HedgedUserPointReader hedgedUserPointReader;
+    private final UserPointCache userPointCache;
+    private final PointSnapshotStore pointSnapshotStore;
+    private final OptimisticRetryPolicy optimisticRetryPolicy;
+    private final SingleFlight<Long, UserPoint> userPointReads = new SingleFlight<>();
 
     private static final long POINT_UNIT = 100L;
     private static final long MIN_CHARGE_AMOUNT = 1_000L;
@@ -19,78 +29,303 @@ public class PointService {
     private static final long MAX_USE_AMOUNT = 100_000L;
     private static final long MAX_BALANCE = 10_000_000L;
 
-    public PointService(UserPointTable userPointTable, PointHistoryTable pointHistoryTable, UserLockManager lockManager) {
+    public PointService(UserPointTable userPointTable, PointHistoryTable pointHistoryTable, UserLockManager lockManager,
+                        KnownUserFilter knownUserFilter, PointHistoryLog pointHistoryLog,
+                        UserVersionManager versionManager, ApplicationEventPublisher eventPublisher,
+                        HedgedUserPointReader hedgedUserPointReader, UserPointCache userPointCache,
+                        PointSnapshotStore pointSnapshotStore, OptimisticRetryPolicy optimisticRetryPolicy) {
         this.userPointTable = userPointTable;
         this.pointHistoryTable = pointHistoryTable;
         this.lockManager = lockManager;
+        this.knownUserFilter = knownUserFilter;
+        this.pointHistoryLog = pointHistoryLog;
+        this.versionManager = versionManager;
+        this.eventPublisher = eventPublisher;
+        this.hedgedUserPointReader = hedgedUserPointReader;
+        this.userPointCache = userPointCache;
+        this.pointSnapshotStore = pointSnapshotStore;
+        this.optimisticRetryPolicy = optimisticRetryPolicy;
     }
 
 
+    /**
+     * 사용자의 포인트 버전을 반환합니다. 테이블 조회나 Lock 없이 메모리에서만 읽습니다.
+     * 포인트와 내역은 같은 커밋에서 함께 변경되므로 두 조회 모두 이 버전으로 변경 여부를 판단할 수 있습니다.
+     */
+    public long getVersion(long userId) {
+        return versionManager.getVersion(userId);
+    }
+
     public UserPoint getUserPoint(long userId) {
-        ReentrantLock lock = lockManager.getLock(userId);
-        lock.lock();
+        // 한 번도 기록된 적 없는 사용자는 테이블 조회와 Lock 없이 빈 포인트 반환
+        if (!knownUserFilter.mightContain(userId)) {
+            return UserPoint.empty(userId);
+        }
+        UserPoint cached = userPointCache.getIfPresent(userId);
+        if (cached != null) {
+            return cached;
+        }
+        // 같은 사용자에 대한 동시 조회는 하나의 테이블 조회 결과를 함께 사용
+        return userPointReads.execute(userId, () -> {
+            Lock lock = lockManager.getLock(userId);
+            PointPhaseEvent hold = lockTimed(lock, userId, PointPhaseEvent.READ);
+            try {
+                // 읽기 전용 경로이므로 지연된 조회는 헤징할 수 있다
+                PointPhaseEvent select = PointPhaseEvent.start(userId, PointPhaseEvent.READ, PointPhaseEvent.SELECT_BY_ID);
+                UserPoint userPoint = hedgedUserPointReader.selectById(userId);
+                select.finish();
+                userPointCache.put(userPoint);
+                return userPoint;
+            } finally {
+                hold.finish();
+                lock.unlock();
+            }
+        });
+    }
+
+    public List<PointHistory> getUserPointHistory(long userId){
+        if (!knownUserFilter.mightContain(userId)) {
+            return List.of();
+        }
+        Lock lock = lockManager.getLock(userId);
+        PointPhaseEvent hold = lockTimed(lock, userId, PointPhaseEvent.READ);
         try {
-            return userPointTable.selectById(userId);
+            PointPhaseEvent select = PointPhaseEvent.start(userId, PointPhaseEvent.READ, PointPhaseEvent.SELECT_HISTORIES);
+            List<PointHistory> histories = pointHistoryTable.selectAllByUserId(userId);
+            select.finish();
+            return histories;
         } finally {
+            hold.finish();
             lock.unlock();
         }
     }
 
-    public List<PointHistory> getUserPointHistory(long userId){
-        ReentrantLock lock = lockManager.getLock(userId);
+    public UserPoint chargePoint(long id, long amount){
+        return mutatePoint(id, amount, TransactionType.CHARGE);
+    }
+
+    public UserPoint usePoint(long id, long amount){
+        return mutatePoint(id, amount, TransactionType.USE);
+    }
+
+    /**
+     * 전체 사용자 포인트의 현재 시점 스냅샷을 엽니다. 쓰기를 멈추지 않으며, 사용 후 반드시 close 해야 합니다.
+     */
+    public PointSnapshotStore.Snapshot openSnapshot() {
+        return pointSnapshotStore.open();
+    }
+
+    /**
+     * 검증 없이 사용자의 포인트를 적재합니다. (초기 데이터 적재용)
+     * 캐시, 버전 등 일반 변경과 같은 후처리를 사용자 Lock 안에서 수행합니다.
+     */
+    public UserPoint seedPoint(long id, long point) {
+        Lock lock = lockManager.getLock(id);
         lock.lock();
         try {
-            return pointHistoryTable.selectAllByUserId(userId);
+            lockManager.checkFencingToken(id);
+            UserPoint seeded = userPointTable.insertOrUpdate(id, point);
+            userPointCache.put(seeded);
+            knownUserFilter.put(id);
+            versionManager.increment(id);
+            userPointReads.forget(id);
+            pointSnapshotStore.recordPoint(seeded, false);
+            eventPublisher.publishEvent(new PointChangedEvent(seeded, null));
+            return seeded;
         } finally {
             lock.unlock();
         }
     }
 
-    public UserPoint chargePoint(long id, long amount){
-        ReentrantLock lock = lockManager.getLock(id);
+    /**
+     * 검증 없이 사용자의 포인트 내역을 적재합니다. (초기 데이터 적재용)
+     */
+    public PointHistory seedHistory(long id, long amount, TransactionType type) {
+        Lock lock = lockManager.getLock(id);
         lock.lock();
         try {
-            return updatePoint(id, amount, TransactionType.CHARGE);
+            lockManager.checkFencingToken(id);
+            PointHistory history = pointHistoryTable.insert(id, amount, type, System.currentTimeMillis());
+            pointHistoryLog.append(history);
+            knownUserFilter.put(id);
+            versionManager.increment(id);
+            pointSnapshotStore.recordHistory(id);
+            return history;
         } finally {
             lock.unlock();
         }
     }
 
-    public UserPoint usePoint(long id, long amount){
-        ReentrantLock lock = lockManager.getLock(id);
-        lock.lock();
+    //목적 : 설정된 동시성 제어 방식으로 충전/사용 처리 (낙관적 방식이 계속 충돌하면 비관적 Lock으로 전환)
+    private UserPoint mutatePoint(long id, long amount, TransactionType type) {
+        if (optimisticRetryPolicy.isOptimistic()) {
+            UserPoint updated = updatePointOptimistically(id, amount, type);
+            if (updated != null) {
+                return updated;
+            }
+            optimisticRetryPolicy.recordFallback();
+        }
+        Lock lock = lockManager.getLock(id);
+        PointPhaseEvent hold = lockTimed(lock, id, type.name());
         try {
-            return updatePoint(id, amount, TransactionType.USE);
+            return updatePoint(id, amount, type);
         } finally {
+            hold.finish();
             lock.unlock();
         }
     }
 
     private UserPoint updatePoint(long id, long amount, TransactionType type) {
         // 1. 금액 검증
+        PointPhaseEvent validation = PointPhaseEvent.start(id, type.name(), PointPhaseEvent.VALIDATION);
         validateAmount(amount, type);
+        validation.finish();
 
-        // 2. 현재 포인트 조회
-        UserPoint current = userPointTable.selectById(id);
+        // 2. 현재 포인트 조회 (캐시에 있으면 캐시 사용, 기록된 적 없는 사용자는 조회 생략)
+        UserPoint current = currentPoint(id, type);
+
+        // 3~5. 잔액/최대 잔액 검증 후 새로운 포인트 계산
+        validation = PointPhaseEvent.start(id, type.name(), PointPhaseEvent.VALIDATION);
+        long newPoint = calculateNewPoint(current, amount, type);
+        validation.finish();
+
+        // 6~9. fencing 검사, 내역 기록, 포인트 저장, 변경 이벤트 발행
+        return commit(id, amount, type, newPoint);
+    }
+
+    /**
+     * 조회/검증/계산은 Lock 없이 수행하고, 커밋 시점에만 사용자 Lock 안에서 버전을 비교한다.
+     * 버전이 바뀌었으면(다른 커밋이 끼어들었으면) 백오프 후 재시도하며, 재시도를 모두 소진하면 null을 반환한다.
+     * 모든 커밋은 사용자 Lock 안에서 버전을 올리므로, Lock 안의 버전 비교는 compare-and-set과 같다.
+     */
+    private UserPoint updatePointOptimistically(long id, long amount, TransactionType type) {
+        PointPhaseEvent validation = PointPhaseEvent.start(id, type.name(), PointPhaseEvent.VALIDATION);
+        validateAmount(amount, type);
+        validation.finish();
+
+        for (int attempt = 0; ; attempt++) {
+            if (attempt > 0) {
+                if (!optimisticRetryPolicy.canRetry(attempt - 1)) {
+                    return null;
+                }
+                optimisticRetryPolicy.backoff(attempt - 1);
+            }
 
-        // 3. 포인트 연산 가능 여부 검증 (USE일 때만 잔액 체크)
+            long version = versionManager.getVersion(id);
+            UserPoint current = peekPoint(id, type);
+
+            long newPoint;
+            validation = PointPhaseEvent.start(id, type.name(), PointPhaseEvent.VALIDATION);
+            try {
+                newPoint = calculateNewPoint(current, amount, type);
+            } catch (IllegalArgumentException e) {
+                // 읽는 도중 다른 커밋이 있었다면 오래된 잔액으로 실패한 것일 수 있으므로 재시도
+                if (versionManager.getVersion(id) == version) {
+                    throw e;
+                }
+                optimisticRetryPolicy.recordConflict();
+                continue;
+            } finally {
+                validation.finish();
+            }
+
+            Lock lock = lockManager.getLock(id);
+            PointPhaseEvent hold = lockTimed(lock, id, type.name());
+            try {
+                if (versionManager.getVersion(id) == version) {
+                    UserPoint updated = commit(id, amount, type, newPoint);
+                    optimisticRetryPolicy.recordCommit();
+                    return updated;
+                }
+            } finally {
+                hold.finish();
+                lock.unlock();
+            }
+            optimisticRetryPolicy.recordConflict();
+        }
+    }
+
+    //목적 : 잔액/최대 잔액을 검증하고 새로운 포인트 계산
+    private long calculateNewPoint(UserPoint current, long amount, TransactionType type) {
+        // 포인트 연산 가능 여부 검증 (USE일 때만 잔액 체크)
         validateBalance(current.point(), amount, type);
 
-        // 4. 새로운 포인트 계산
+        // 새로운 포인트 계산
         long newPoint = (type == TransactionType.CHARGE)
                 ? current.point() + amount
                 : current.point() - amount;
 
-        // 5. 최대 잔액 검증 (CHARGE일 때만)
+        // 최대 잔액 검증 (CHARGE일 때만)
         if (type == TransactionType.CHARGE) {
             validateMaxBalance(newPoint);
         }
+        return newPoint;
+    }
 
-        // 6. History에 내역 기록
-        pointHistoryTable.insert(id, amount, type, System.currentTimeMillis());
+    //목적 : 사용자 Lock 안에서 내역 기록과 포인트 저장, 후처리를 수행
+    private UserPoint commit(long id, long amount, TransactionType type, long newPoint) {
+        // 6. 임대 기반 Lock이면 fencing token 검사 (임대를 잃은 뒤의 늦은 쓰기 거부)
+        lockManager.checkFencingToken(id);
 
-        // 7. 포인트 업데이트 및 반환
-        return userPointTable.insertOrUpdate(id, newPoint);
+        // 7. History에 내역 기록
+        PointPhaseEvent insert = PointPhaseEvent.start(id, type.name(), PointPhaseEvent.HISTORY_INSERT);
+        PointHistory history = pointHistoryTable.insert(id, amount, type, System.currentTimeMillis());
+        insert.finish();
+        pointHistoryLog.append(history);
+
+        // 8. 포인트 업데이트 및 반환
+        PointPhaseEvent update = PointPhaseEvent.start(id, type.name(), PointPhaseEvent.INSERT_OR_UPDATE);
+        UserPoint updated = userPointTable.insertOrUpdate(id, newPoint);
+        update.finish();
+        userPointCache.put(updated);
+        knownUserFilter.put(id);
+        versionManager.increment(id);
+        // 커밋 이후 도착한 조회가 커밋 이전에 시작된 조회 결과를 받지 않도록 분리
+        userPointReads.forget(id);
+        pointSnapshotStore.recordPoint(updated, true);
+
+        // 9. 변경 이벤트 발행 (Lock을 쥔 상태이므로 사용자별 발행 순서가 커밋 순서와 같다)
+        eventPublisher.publishEvent(new PointChangedEvent(updated, history));
+        return updated;
+    }
+
+    //목적 : Lock 없이 현재 포인트 조회 (오래된 값이 캐시에 들어가지 않도록 캐시에 적재하지 않음)
+    private UserPoint peekPoint(long id, TransactionType type) {
+        UserPoint cached = userPointCache.getIfPresent(id);
+        if (cached != null) {
+            return cached;
+        }
+        if (!knownUserFilter.mightContain(id)) {
+            return UserPoint.empty(id);
+        }
+        PointPhaseEvent select = PointPhaseEvent.start(id, type.name(), PointPhaseEvent.SELECT_BY_ID);
+        UserPoint current = userPointTable.selectById(id);
+        select.finish();
+        return current;
+    }
+
+    //목적 : 사용자 Lock 안에서 현재 포인트 조회 (캐시 → 테이블 순)
+    private UserPoint currentPoint(long id, TransactionType type) {
+        UserPoint cached = userPointCache.getIfPresent(id);
+        if (cached != null) {
+            return cached;
+        }
+        if (!knownUserFilter.mightContain(id)) {
+            return UserPoint.empty(id);
+        }
+        PointPhaseEvent select = PointPhaseEvent.start(id, type.name(), PointPhaseEvent.SELECT_BY_ID);
+        UserPoint current = userPointTable.selectById(id);
+        select.finish();
+        userPointCache.put(current);
+        return current;
+    }
+
+    //목적 : Lock 대기 시간을 기록하며 Lock을 획득하고, Lock 보유 시간을 측정할 이벤트를 반환 (unlock 직전에 finish 호출)
+    private static PointPhaseEvent lockTimed(Lock lock, long id, String type) {
+        PointPhaseEvent wait = PointPhaseEvent.start(id, type, PointPhaseEvent.LOCK_WAIT);
+        lock.lock();
+        wait.finish();
+        return PointPhaseEvent.start(id, type, PointPhaseEvent.LOCK_HOLD);
     }
 
     //목적 : 충전/사용 금액이 유효한지 검증
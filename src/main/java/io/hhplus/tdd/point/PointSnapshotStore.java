@@ -0,0 +1,193 @@
+package io.hhplus.tdd.point;
+
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+
+/**
+ * 전체 사용자 포인트의 특정 시점 스냅샷을 제공하는 버전 저장소 (MVCC)
+ * 커밋마다 전역 순번(commit sequence)을 붙인 버전을 사용자별 체인 앞에 추가하고,
+ * 스냅샷은 자신의 순번 이하인 가장 최신 버전만 읽는다.
+ * 가장 오래 열린 스냅샷이 읽는 버전과 그 이후 버전만 남기고, 더 오래된 버전은 다음 커밋 때 정리한다.
+ * 모든 기록 메서드는 사용자 Lock 안에서 호출해야 한다.
+ */
+@Component
+public class PointSnapshotStore {
+
+    private final PointHistoryLog pointHistoryLog;
+    private final ConcurrentHashMap<Long, Version> headMap = new ConcurrentHashMap<>();
+    // 열린 스냅샷 순번별 개수
+    private final ConcurrentSkipListMap<Long, Integer> openSnapshots = new ConcurrentSkipListMap<>();
+    // 커밋(read lock)끼리는 서로 막지 않고, 스냅샷 생성(write lock)만 진행 중인 커밋이 끝나길 기다린다
+    private final ReentrantReadWriteLock commitLock = new ReentrantReadWriteLock();
+    private final AtomicLong commitSequence = new AtomicLong();
+
+    public PointSnapshotStore(PointHistoryLog pointHistoryLog) {
+        this.pointHistoryLog = pointHistoryLog;
+    }
+
+    /**
+     * 포인트 변경을 기록 (내역이 함께 기록된 경우 historyAdded = true)
+     */
+    public void recordPoint(UserPoint userPoint, boolean historyAdded) {
+        install(userPoint.id(), userPoint, historyAdded ? 1 : 0);
+    }
+
+    /**
+     * 포인트 변경 없이 내역만 추가된 경우를 기록
+     */
+    public void recordHistory(long userId) {
+        install(userId, null, 1);
+    }
+
+    /**
+     * 현재 시점의 스냅샷을 연다. 사용이 끝나면 반드시 close 해야 오래된 버전이 정리된다.
+     */
+    public Snapshot open() {
+        commitLock.writeLock().lock();
+        try {
+            long sequence = commitSequence.get();
+            openSnapshots.merge(sequence, 1, Integer::sum);
+            return new Snapshot(sequence, pointHistoryLog.size());
+        } finally {
+            commitLock.writeLock().unlock();
+        }
+    }
+
+    private void install(long userId, UserPoint userPoint, int historyAdded) {
+        commitLock.readLock().lock();
+        try {
+            long sequence = commitSequence.incrementAndGet();
+            Map.Entry<Long, Integer> oldest = openSnapshots.firstEntry();
+            long retainFrom = (oldest == null) ? Long.MAX_VALUE : oldest.getKey();
+            headMap.compute(userId, (id, head) -> {
+                UserPoint point = (userPoint != null || head == null) ? userPoint : head.userPoint;
+                long historyCount = ((head == null) ? 0 : head.historyCount) + historyAdded;
+                return new Version(id, point, historyCount, sequence, prune(head, retainFrom));
+            });
+        } finally {
+            commitLock.readLock().unlock();
+        }
+    }
+
+    //목적 : 가장 오래 열린 스냅샷이 읽는 버전까지만 남기고 이전 체인을 끊는다 (열린 스냅샷이 없으면 새 버전만 남긴다)
+    private Version prune(Version head, long retainFrom) {
+        if (retainFrom == Long.MAX_VALUE) {
+            return null;
+        }
+        Version version = head;
+        while (version != null && version.sequence > retainFrom) {
+            version = version.previous;
+        }
+        if (version != null) {
+            version.previous = null;
+        }
+        return head;
+    }
+
+    //목적 : 사용자 버전 체인 길이 (정리 여부 확인용)
+    int versionCount(long userId) {
+        int count = 0;
+        for (Version version = headMap.get(userId); version != null; version = version.previous) {
+            count++;
+        }
+        return count;
+    }
+
+    private void close(Snapshot snapshot) {
+        openSnapshots.computeIfPresent(snapshot.sequence, (sequence, count) -> (count == 1) ? null : count - 1);
+    }
+
+    private static final class Version {
+
+        private final long userId;
+        private final UserPoint userPoint;
+        private final long historyCount;
+        private final long sequence;
+        private volatile Version previous;
+
+        private Version(long userId, UserPoint userPoint, long historyCount, long sequence, Version previous) {
+            this.userId = userId;
+            this.userPoint = userPoint;
+            this.historyCount = historyCount;
+            this.sequence = sequence;
+            this.previous = previous;
+        }
+    }
+
+    /**
+     * 스냅샷 시점의 사용자 포인트와, 그 시점까지 기록된 사용자 내역 수
+     * 내역만 있고 포인트가 아직 기록되지 않은 사용자는 빈 포인트로 표시한다.
+     */
+    public record Entry(
+            UserPoint userPoint,
+            long historyCount
+    ) {
+    }
+
+    /**
+     * 특정 커밋 순번 시점의 일관된 읽기 전용 뷰
+     * historyLogSize는 스냅샷 시점의 PointHistoryLog 크기이며,
+     * 그 이전 내역 중 사용자별로 앞에서부터 historyCount개가 스냅샷 시점까지 커밋된 내역이다.
+     */
+    public final class Snapshot implements AutoCloseable {
+
+        private final long sequence;
+        private final int historyLogSize;
+        private final AtomicBoolean closed = new AtomicBoolean();
+
+        private Snapshot(long sequence, int historyLogSize) {
+            this.sequence = sequence;
+            this.historyLogSize = historyLogSize;
+        }
+
+        public long sequence() {
+            return sequence;
+        }
+
+        public int historyLogSize() {
+            return historyLogSize;
+        }
+
+        /**
+         * 스냅샷 시점에 존재한 사용자를 순회 (읽는 데이터 양에 비례하는 비용)
+         */
+        public void forEach(Consumer<Entry> action) {
+            for (Version head : headMap.values()) {
+                Entry entry = visible(head);
+                if (entry != null) {
+                    action.accept(entry);
+                }
+            }
+        }
+
+        public Entry get(long userId) {
+            return visible(headMap.get(userId));
+        }
+
+        private Entry visible(Version head) {
+            Version version = head;
+            while (version != null && version.sequence > sequence) {
+                version = version.previous;
+            }
+            if (version == null) {
+                return null;
+            }
+            UserPoint point = (version.userPoint != null) ? version.userPoint : UserPoint.empty(version.userId);
+            return new Entry(point, version.historyCount);
+        }
+
+        @Override
+        public void close() {
+            if (closed.compareAndSet(false, true)) {
+                PointSnapshotStore.this.close(this);
+            }
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package io.hhplus.tdd.point;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.List;
+
+/**
+ * 포인트 API 응답용 JSON 변환기를 기본 Jackson 변환기보다 앞에 등록
+ * 다른 빈에 의존하지 않으므로 @WebMvcTest 슬라이스에서도 그대로 적용된다.
+ */
+@Configuration
+public class PointWebMvcConfig implements WebMvcConfigurer {
+
+    private final boolean enabled;
+    private final long maximumCachedUsers;
+
+    public PointWebMvcConfig(@Value("${point.json.enabled:true}") boolean enabled,
+                             @Value("${point.json.cache.maximum-size:100000}") long maximumCachedUsers) {
+        this.enabled = enabled;
+        this.maximumCachedUsers = maximumCachedUsers;
+    }
+
+    @Override
+    public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+        if (enabled) {
+            converters.add(0, new PointJsonHttpMessageConverter(maximumCachedUsers));
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package io.hhplus.tdd.point;
+
+import org.redisson.api.RScript;
+import org.redisson.api.RedissonClient;
+import org.redisson.client.codec.StringCodec;
+
+import java.util.List;
+
+/**
+ * Redis(Redisson) 기반 임대 저장소
+ * 사용자별 임대 키(owner, token 해시)와 token 카운터 키를 같은 hash tag로 묶어 Lua 스크립트로 원자적으로 처리한다.
+ */
+public class RedisLeaseStore implements LeaseStore {
+
+    private static final String ACQUIRE_SCRIPT = """
+            local owner = redis.call('hget', KEYS[1], 'owner')
+            if owner == false or owner == ARGV[1] then
+                local token = redis.call('incr', KEYS[2])
+                redis.call('hset', KEYS[1], 'owner', ARGV[1], 'token', token)
+                redis.call('pexpire', KEYS[1], ARGV[2])
+                return token
+            end
+            return 0
+            """;
+
+    private static final String RENEW_SCRIPT = """
+            if redis.call('hget', KEYS[1], 'owner') == ARGV[1] and redis.call('hget', KEYS[1], 'token') == ARGV[2] then
+                redis.call('pexpire', KEYS[1], ARGV[3])
+                return 1
+            end
+            return 0
+            """;
+
+    // 만료된 임대 키는 Redis가 지우므로 소유자와 token 비교만으로 만료 여부까지 확인된다
+    private static final String VALIDATE_SCRIPT = """
+            if redis.call('hget', KEYS[1], 'owner') == ARGV[1] and redis.call('hget', KEYS[1], 'token') == ARGV[2] then
+                return 1
+            end
+            return 0
+            """;
+
+    private static final String RELEASE_SCRIPT = """
+            if redis.call('hget', KEYS[1], 'owner') == ARGV[1] and redis.call('hget', KEYS[1], 'token') == ARGV[2] then
+                redis.call('del', KEYS[1])
+                return 1
+            end
+            return 0
+            """;
+
+    private final RScript script;
+
+    public RedisLeaseStore(RedissonClient redissonClient) {
+        this.script = redissonClient.getScript(StringCodec.INSTANCE);
+    }
+
+    @Override
+    public long tryAcquire(long userId, String owner, long leaseMillis) {
+        Long token = script.eval(RScript.Mode.READ_WRITE, ACQUIRE_SCRIPT, RScript.ReturnType.INTEGER,
+                keys(userId), owner, String.valueOf(leaseMillis));
+        return token == null ? 0L : token;
+    }
+
+    @Override
+    public boolean renew(long userId, String owner, long token, long leaseMillis) {
+        Long renewed = script.eval(RScript.Mode.READ_WRITE, RENEW_SCRIPT, RScript.ReturnType.INTEGER,
+                keys(userId), owner, String.valueOf(token), String.valueOf(leaseMillis));
+        return renewed != null && renewed == 1L;
+    }
+
+    @Override
+    public boolean validate(long userId, String owner, long token) {
+        Long valid = script.eval(RScript.Mode.READ_ONLY, VALIDATE_SCRIPT, RScript.ReturnType.INTEGER,
+                keys(userId), owner, String.valueOf(token));
+        return valid != null && valid == 1L;
+    }
+
+    @Override
+    public void release(long userId, String owner, long token) {
+        script.eval(RScript.Mode.READ_WRITE, RELEASE_SCRIPT, RScript.ReturnType.INTEGER,
+                keys(userId), owner, String.valueOf(token));
+    }
+
+    //목적 : 클러스터 모드에서도 두 키가 같은 슬롯에 있도록 hash tag 사용
+    private static List<Object> keys(long userId) {
+        String tag = "point:lock:{" + userId + "}";
+        return List.of(tag, tag + ":token");
+    }
+}
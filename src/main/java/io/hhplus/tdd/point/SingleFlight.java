@@ -0,0 +1,56 @@
+package io.hhplus.tdd.point;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * 같은 키에 대한 동시 호출을 하나의 실행으로 합치는 클래스 (single-flight)
+ * 먼저 도착한 호출만 loader를 실행하고, 실행 중에 도착한 호출은 그 결과를 함께 받는다.
+ */
+public class SingleFlight<K, V> {
+
+    private final ConcurrentHashMap<K, CompletableFuture<V>> flightMap = new ConcurrentHashMap<>();
+
+    public V execute(K key, Supplier<V> loader) {
+        CompletableFuture<V> flight = new CompletableFuture<>();
+        CompletableFuture<V> existing = flightMap.putIfAbsent(key, flight);
+        if (existing != null) {
+            return await(existing);
+        }
+        try {
+            V value = loader.get();
+            flight.complete(value);
+            return value;
+        } catch (Throwable t) {
+            // Error로 끝나도 합류한 호출이 무한 대기하지 않도록 실행을 완료
+            flight.completeExceptionally(t);
+            throw t;
+        } finally {
+            flightMap.remove(key, flight);
+        }
+    }
+
+    /**
+     * 진행 중인 실행을 분리하여, 이후 호출이 새 실행을 시작하도록 함
+     * 이미 합류한 호출은 기존 실행의 결과를 그대로 받는다.
+     */
+    public void forget(K key) {
+        flightMap.remove(key);
+    }
+
+    private V await(CompletableFuture<V> flight) {
+        try {
+            return flight.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (e.getCause() instanceof Error cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package io.hhplus.tdd.point;
+
+import org.redisson.Redisson;
+import org.redisson.api.RedissonClient;
+import org.redisson.config.Config;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * point.lock.provider 설정에 따라 사용자 Lock 제공자를 선택
+ * - memory (기본값): JVM 내부 ReentrantLock, 단일 인스턴스용
+ * - local-lease: 프로세스 내부 임대 저장소를 사용하는 임대 기반 Lock (테스트/단일 호스트 검증용)
+ * - redis: Redis 임대 저장소를 사용하는 임대 기반 Lock, 여러 인스턴스 운영용
+ */
+@Configuration
+public class UserLockConfig {
+
+    private static final String PROVIDER = "point.lock.provider";
+
+    @Bean
+    @ConditionalOnProperty(name = PROVIDER, havingValue = "memory", matchIfMissing = true)
+    public UserLockProvider inMemoryUserLockProvider() {
+        return new InMemoryUserLockProvider();
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = PROVIDER, havingValue = "local-lease")
+    public LeaseStore localLeaseStore(@Value("${point.lock.local.round-trip-micros:0}") long roundTripMicros) {
+        return new LocalLeaseStore(roundTripMicros);
+    }
+
+    @Bean(destroyMethod = "shutdown")
+    @ConditionalOnProperty(name = PROVIDER, havingValue = "redis")
+    public RedissonClient redissonClient(@Value("${point.lock.redis.address:redis://localhost:6379}") String address) {
+        Config config = new Config();
+        config.useSingleServer().setAddress(address);
+        return Redisson.create(config);
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = PROVIDER, havingValue = "redis")
+    public LeaseStore redisLeaseStore(RedissonClient redissonClient) {
+        return new RedisLeaseStore(redissonClient);
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = PROVIDER, havingValue = "local-lease")
+    public UserLockProvider localLeaseUserLockProvider(LeaseStore leaseStore,
+                                                       @Value("${point.lock.lease.lease-ms:3000}") long leaseMillis,
+                                                       @Value("${point.lock.lease.acquire-timeout-ms:5000}") long acquireTimeoutMillis,
+                                                       @Value("${point.lock.lease.retry-ms:5}") long retryMillis,
+                                                       @Value("${point.lock.lease.max-handoffs:32}") int maxHandoffs) {
+        return new LeaseUserLockProvider(leaseStore, leaseMillis, acquireTimeoutMillis, retryMillis, maxHandoffs);
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = PROVIDER, havingValue = "redis")
+    public UserLockProvider redisUserLockProvider(LeaseStore leaseStore,
+                                                  @Value("${point.lock.lease.lease-ms:3000}") long leaseMillis,
+                                                  @Value("${point.lock.lease.acquire-timeout-ms:5000}") long acquireTimeoutMillis,
+                                                  @Value("${point.lock.lease.retry-ms:5}") long retryMillis,
+                                                  @Value("${point.lock.lease.max-handoffs:32}") int maxHandoffs) {
+        return new LeaseUserLockProvider(leaseStore, leaseMillis, acquireTimeoutMillis, retryMillis, maxHandoffs);
+    }
+}
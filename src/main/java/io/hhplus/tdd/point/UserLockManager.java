@@ -2,23 +2,35 @@ package io.hhplus.tdd.point;
 
 import org.springframework.stereotype.Component;
 
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.Lock;
 
 /**
  * 사용자별 Lock을 관리하는 클래스
- * ConcurrentHashMap과 ReentrantLock을 사용하여 사용자별 동시성 제어
+ * 실제 Lock은 설정된 UserLockProvider(메모리 / 임대 기반 분산 Lock)가 제공하고,
+ * 쓰기 직전에 fencing token을 검사하여 임대를 잃은 뒤의 늦은 쓰기를 거부한다.
+ * 검사는 모든 인스턴스가 공유하는 임대 저장소에서 이루어지므로, 다른 인스턴스가 더 큰 token으로 쓴 뒤의 쓰기도 거부된다.
  */
 @Component
 public class UserLockManager {
 
-    private final ConcurrentHashMap<Long, ReentrantLock> lockMap = new ConcurrentHashMap<>();
+    private final UserLockProvider lockProvider;
+
+    public UserLockManager(UserLockProvider lockProvider) {
+        this.lockProvider = lockProvider;
+    }
+
+    /**
+     * 사용자 ID에 해당하는 Lock을 반환 (thread-safe)
+     */
+    public Lock getLock(long userId) {
+        return lockProvider.getLock(userId);
+    }
 
     /**
-     * 사용자 ID에 해당하는 Lock을 반환
-     * 없으면 새로 생성하여 반환 (thread-safe)
+     * 사용자 Lock을 보유한 상태에서 쓰기 직전에 호출
+     * 임대가 만료되었거나 임대 저장소 기준으로 다른 소유자(더 큰 token)에게 넘어갔으면 IllegalStateException
      */
-    public ReentrantLock getLock(long userId) {
-        return lockMap.computeIfAbsent(userId, id -> new ReentrantLock());
+    public void checkFencingToken(long userId) {
+        lockProvider.validateFencingToken(userId);
     }
 }
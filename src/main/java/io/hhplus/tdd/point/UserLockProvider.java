@@ -0,0 +1,31 @@
+package io.hhplus.tdd.point;
+
+import java.util.concurrent.locks.Lock;
+
+/**
+ * 사용자별 Lock을 제공하는 구현체의 공통 인터페이스
+ * 단일 인스턴스에서는 JVM 내부 Lock으로 충분하지만, 여러 인스턴스를 띄우면 임대(lease) 기반 분산 Lock이 필요하다.
+ */
+public interface UserLockProvider {
+
+    /**
+     * 사용자 ID에 해당하는 Lock을 반환
+     */
+    Lock getLock(long userId);
+
+    /**
+     * 현재 스레드가 보유한 사용자 Lock의 fencing token을 반환 (Lock 보유 중에만 호출)
+     * 임대가 만료되었거나 잃어버렸으면 IllegalStateException, fencing이 필요 없는 구현은 0을 반환한다.
+     */
+    default long currentFencingToken(long userId) {
+        return 0L;
+    }
+
+    /**
+     * 쓰기 직전에 현재 스레드가 보유한 Lock이 여전히 유효한지 확인 (Lock 보유 중에만 호출)
+     * 유효하지 않으면 IllegalStateException, 기본 구현은 currentFencingToken의 검사만 수행한다.
+     */
+    default void validateFencingToken(long userId) {
+        currentFencingToken(userId);
+    }
+}
@@ -0,0 +1,70 @@
+package io.hhplus.tdd.point;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * UserPointTable 앞단의 사용자 포인트 캐시 (write-through)
+ * Caffeine의 W-TinyLFU 정책으로 자주 조회되는 사용자만 남기며, 최대 크기와 선택적 만료 시간을 가진다.
+ * 캐시 적재와 갱신은 모두 사용자 Lock 안에서만 호출해야 오래된 값이 최신 값을 덮어쓰지 않는다.
+ */
+@Component
+public class UserPointCache {
+
+    private final boolean enabled;
+    private final Cache<Long, UserPoint> cache;
+
+    /**
+     * expireAfterWriteMillis가 0 이하이면 만료 없이 크기로만 제거한다.
+     */
+    public UserPointCache(@Value("${point.cache.enabled:true}") boolean enabled,
+                          @Value("${point.cache.maximum-size:100000}") long maximumSize,
+                          @Value("${point.cache.expire-after-write-ms:0}") long expireAfterWriteMillis) {
+        this.enabled = enabled;
+        Caffeine<Object, Object> builder = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .recordStats();
+        if (expireAfterWriteMillis > 0) {
+            builder.expireAfterWrite(Duration.ofMillis(expireAfterWriteMillis));
+        }
+        this.cache = builder.build();
+    }
+
+    /**
+     * 캐시된 포인트를 반환 (없으면 null)
+     */
+    public UserPoint getIfPresent(long userId) {
+        return enabled ? cache.getIfPresent(userId) : null;
+    }
+
+    public void put(UserPoint userPoint) {
+        if (enabled) {
+            cache.put(userPoint.id(), userPoint);
+        }
+    }
+
+    public CacheMetrics metrics() {
+        CacheStats stats = cache.stats();
+        return new CacheMetrics(
+                stats.hitCount(),
+                stats.missCount(),
+                stats.evictionCount(),
+                stats.hitRate(),
+                cache.estimatedSize()
+        );
+    }
+
+    public record CacheMetrics(
+            long hits,
+            long misses,
+            long evictions,
+            double hitRate,
+            long size
+    ) {
+    }
+}
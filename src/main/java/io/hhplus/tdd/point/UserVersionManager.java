@@ -0,0 +1,31 @@
+package io.hhplus.tdd.point;
+
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 사용자별 포인트 버전을 관리하는 클래스
+ * 포인트 변경이 커밋될 때마다 버전이 1씩 증가하며, 변경된 적 없는 사용자의 버전은 0이다.
+ */
+@Component
+public class UserVersionManager {
+
+    private final ConcurrentHashMap<Long, AtomicLong> versionMap = new ConcurrentHashMap<>();
+
+    /**
+     * 사용자 ID의 현재 버전을 반환 (조회만으로는 항목을 만들지 않음)
+     */
+    public long getVersion(long userId) {
+        AtomicLong version = versionMap.get(userId);
+        return (version == null) ? 0L : version.get();
+    }
+
+    /**
+     * 사용자 ID의 버전을 증가시키고 증가된 버전을 반환 (thread-safe)
+     */
+    public long increment(long userId) {
+        return versionMap.computeIfAbsent(userId, id -> new AtomicLong()).incrementAndGet();
+    }
+}
@@ -0,0 +1,141 @@
+package io.hhplus.tdd.point;
+
+import static org.assertj.core.api.Assertions.*;
+
+import io.hhplus.tdd.database.PointHistoryTable;
+import io.hhplus.tdd.database.UserPointTable;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ConcurrentHashMap;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
+
+class DataInitializerTest {
+
+    private final RecordingPointService pointService = new PointServiceFixture()
+            .userPointCache(new UserPointCache(false, 0L, 0L))
+            .build(RecordingPointService::new);
+
+    @Test
+    @DisplayName("사용자별 내역 수는 rank가 클수록 줄어들고, 합계는 사용자 수 * 평균 내역 수에 가깝다")
+    public void syntheticHistoryCount_FollowsZipf() {
+        //given
+        DataInitializer dataInitializer = dataInitializer(1_000L);
+        SplittableRandom random = new SplittableRandom(42L);
+
+        //when
+        long total = 0;
+        long previous = 0;
+        boolean monotonic = true;
+        for (long index = 0; index < 1_000L; index++) {
+            long count = dataInitializer.syntheticHistoryCount(index, random);
+            // 소수 부분을 확률적으로 올리므로 이전 rank보다 최대 1까지는 많을 수 있다
+            monotonic &= index == 0 || count <= previous + 1;
+            previous = count;
+            total += count;
+        }
+
+        //then
+        assertThat(monotonic).isTrue();
+        // H(1000, 1.0) ≈ 7.485 이므로 rank 1은 5000 / 7.485 ≈ 668건
+        assertThat(dataInitializer.syntheticHistoryCount(0, new SplittableRandom(1L))).isGreaterThan(660L);
+        assertThat(dataInitializer.syntheticHistoryCount(0, new SplittableRandom(1L))).isLessThan(670L);
+        assertThat(total).isGreaterThan(4_900L);
+        assertThat(total).isLessThan(5_100L);
+    }
+
+    @Test
+    @DisplayName("모든 사용자를 적재하면 준비 완료로 전환한다")
+    public void seedAll_BecomesReady() {
+        //given
+        DataInitializer dataInitializer = dataInitializer(2L);
+        assertThat(dataInitializer.progress()).isEqualTo(new DataInitializer.SeedProgress(false, 0L, 0L, 5L));
+
+        //when
+        dataInitializer.seedAll();
+
+        //then
+        assertThat(dataInitializer.progress()).isEqualTo(new DataInitializer.SeedProgress(true, 5L, 0L, 5L));
+        assertThat(pointService.points.keySet()).containsExactlyInAnyOrder(1L, 2L, 3L, 1000L, 1001L);
+        // synthetic 사용자의 잔액은 내역의 충전 합계 - 사용 합계와 같다
+        assertThat(pointService.points.get(1000L)).isEqualTo(pointService.historySums.getOrDefault(1000L, 0L));
+        assertThat(pointService.points.get(1001L)).isEqualTo(pointService.historySums.getOrDefault(1001L, 0L));
+    }
+
+    @Test
+    @DisplayName("적재에 실패한 사용자가 있으면 나머지 사용자는 적재하되 준비 완료로 전환하지 않는다")
+    public void seedAll_FailureKeepsNotReady() {
+        //given
+        pointService.failingUserId = 2L;
+        DataInitializer dataInitializer = dataInitializer(2L);
+
+        //when
+        dataInitializer.seedAll();
+
+        //then
+        assertThat(dataInitializer.isReady()).isFalse();
+        assertThat(dataInitializer.progress()).isEqualTo(new DataInitializer.SeedProgress(false, 4L, 1L, 5L));
+        assertThat(pointService.points.keySet()).containsExactlyInAnyOrder(1L, 3L, 1000L, 1001L);
+    }
+
+    @Test
+    @DisplayName("여러 작업 스레드로 나눠 적재해도 모든 사용자를 한 번씩만 적재한다")
+    public void seedAll_ParallelSeedsEachUserOnce() {
+        //given
+        DataInitializer dataInitializer = new DataInitializer(pointService, 8, 500L, 5, 1.0, 1000L, 42L);
+
+        //when
+        dataInitializer.seedAll();
+
+        //then
+        assertThat(dataInitializer.progress()).isEqualTo(new DataInitializer.SeedProgress(true, 503L, 0L, 503L));
+        assertThat(pointService.points.keySet()).hasSize(503);
+        assertThat(pointService.seedPointCalls.values()).allMatch(calls -> calls == 1);
+        for (long userId = 1000L; userId < 1500L; userId++) {
+            assertThat(pointService.points.get(userId)).isEqualTo(pointService.historySums.getOrDefault(userId, 0L));
+        }
+    }
+
+    private DataInitializer dataInitializer(long syntheticUsers) {
+        return new DataInitializer(pointService, 4, syntheticUsers, 5, 1.0, 1000L, 42L);
+    }
+
+    /**
+     * 테이블에 쓰지 않고 적재 요청만 기록하는 PointService
+     * failingUserId의 잔액 적재는 실패한다.
+     */
+    private static class RecordingPointService extends PointService {
+
+        private final Map<Long, Long> points = new ConcurrentHashMap<>();
+        private final Map<Long, Long> historySums = new ConcurrentHashMap<>();
+        private final Map<Long, Integer> seedPointCalls = new ConcurrentHashMap<>();
+        private volatile long failingUserId = -1L;
+
+        RecordingPointService(UserPointTable userPointTable, PointHistoryTable pointHistoryTable,
+                              UserLockManager lockManager, KnownUserFilter knownUserFilter,
+                              PointHistoryLog pointHistoryLog, UserVersionManager versionManager,
+                              ApplicationEventPublisher eventPublisher, HedgedUserPointReader hedgedUserPointReader,
+                              UserPointCache userPointCache, PointSnapshotStore pointSnapshotStore,
+                              OptimisticRetryPolicy optimisticRetryPolicy) {
+            super(userPointTable, pointHistoryTable, lockManager, knownUserFilter, pointHistoryLog, versionManager,
+                    eventPublisher, hedgedUserPointReader, userPointCache, pointSnapshotStore, optimisticRetryPolicy);
+        }
+
+        @Override
+        public UserPoint seedPoint(long id, long point) {
+            if (id == failingUserId) {
+                throw new IllegalStateException("적재 실패");
+            }
+            points.put(id, point);
+            seedPointCalls.merge(id, 1, Integer::sum);
+            return new UserPoint(id, point, System.currentTimeMillis());
+        }
+
+        @Override
+        public PointHistory seedHistory(long id, long amount, TransactionType type) {
+            historySums.merge(id, type == TransactionType.CHARGE ? amount : -amount, Long::sum);
+            return new PointHistory(0L, id, amount, type, System.currentTimeMillis());
+        }
+    }
+}
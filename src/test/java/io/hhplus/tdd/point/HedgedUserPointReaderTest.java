@@ -0,0 +1,163 @@
+package io.hhplus.tdd.point;
+
+import static org.assertj.core.api.Assertions.*;
+
+import io.hhplus.tdd.database.UserPointTable;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class HedgedUserPointReaderTest {
+
+    private final ScriptedUserPointTable userPointTable = new ScriptedUserPointTable();
+    private HedgedUserPointReader reader;
+
+    @AfterEach
+    void tearDown() {
+        reader.shutdown();
+    }
+
+    @Test
+    @DisplayName("지연 시간 안에 끝난 첫 조회는 헤징하지 않는다")
+    public void selectById_PrimaryWithinDelay() {
+        //given
+        reader = new HedgedUserPointReader(userPointTable, true, 50L, 1.0, 2);
+        userPointTable.delays(0L);
+
+        //when
+        UserPoint result = reader.selectById(1L);
+
+        //then
+        assertThat(result.point()).isEqualTo(1L);
+        assertThat(reader.stats().reads()).isEqualTo(1L);
+        assertThat(reader.stats().hedges()).isZero();
+        assertThat(userPointTable.calls.get()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("첫 조회가 지연되면 헤징 조회 결과를 사용하고, 호출 스레드의 첫 조회는 인터럽트되어 끝난다")
+    public void selectById_HedgeWins() {
+        //given
+        reader = new HedgedUserPointReader(userPointTable, true, 20L, 1.0, 2);
+        userPointTable.delays(2_000L, 0L);
+
+        //when
+        long start = System.nanoTime();
+        UserPoint result = reader.selectById(1L);
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+        //then
+        assertThat(result.point()).isEqualTo(2L);
+        assertThat(elapsedMillis).isLessThan(1_000L);
+        assertThat(userPointTable.interrupted.get()).isEqualTo(1);
+        assertThat(Thread.currentThread().isInterrupted()).isFalse();
+        assertThat(reader.stats().hedges()).isEqualTo(1L);
+        assertThat(reader.stats().hedgeWins()).isEqualTo(1L);
+    }
+
+    @Test
+    @DisplayName("첫 조회가 이기면 진행 중인 헤징 조회는 인터럽트되어 테이블 대기를 끝낸다")
+    public void selectById_PrimaryWinsAndCancelsHedge() throws Exception {
+        //given
+        reader = new HedgedUserPointReader(userPointTable, true, 20L, 1.0, 2);
+        userPointTable.delays(100L, 2_000L);
+
+        //when
+        UserPoint result = reader.selectById(1L);
+
+        //then
+        assertThat(result.point()).isEqualTo(1L);
+        awaitNoTableReads();
+        assertThat(userPointTable.interrupted.get()).isEqualTo(1);
+        assertThat(reader.stats().hedges()).isEqualTo(1L);
+        assertThat(reader.stats().hedgeWins()).isZero();
+    }
+
+    @Test
+    @DisplayName("추가 조회 수는 전체 조회 수의 max-extra-ratio를 넘지 않는다")
+    public void selectById_RespectsBudget() {
+        //given
+        reader = new HedgedUserPointReader(userPointTable, true, 20L, 0.5, 2);
+        // 첫 조회는 예산(1 * 0.5)이 부족해 헤징하지 않고, 두 번째 조회(2 * 0.5)부터 헤징
+        userPointTable.delays(100L, 100L, 0L);
+
+        //when
+        UserPoint first = reader.selectById(1L);
+        UserPoint second = reader.selectById(1L);
+
+        //then
+        assertThat(first.point()).isEqualTo(1L);
+        assertThat(second.point()).isEqualTo(3L);
+        assertThat(reader.stats().reads()).isEqualTo(2L);
+        assertThat(reader.stats().hedges()).isEqualTo(1L);
+        assertThat(reader.stats().hedgeRate()).isEqualTo(0.5);
+    }
+
+    @Test
+    @DisplayName("헤징 스레드가 모두 사용 중이면 헤징 없이 호출 스레드의 첫 조회 결과를 사용한다")
+    public void selectById_FallsBackWhenHedgeThreadsBusy() throws Exception {
+        //given
+        reader = new HedgedUserPointReader(userPointTable, true, 20L, 1.0, 1);
+        // A의 첫 조회(300ms), A의 헤징(300ms, 스레드 점유), B의 첫 조회(100ms, 헤징 거절)
+        userPointTable.delays(300L, 300L, 100L);
+
+        //when
+        CompletableFuture<UserPoint> first = CompletableFuture.supplyAsync(() -> reader.selectById(1L));
+        TimeUnit.MILLISECONDS.sleep(60);
+        UserPoint second = reader.selectById(2L);
+
+        //then
+        assertThat(first.get(1, TimeUnit.SECONDS).point()).isEqualTo(1L);
+        assertThat(second.point()).isEqualTo(3L);
+        assertThat(reader.stats().hedges()).isEqualTo(1L);
+        assertThat(reader.stats().hedgeRejections()).isEqualTo(1L);
+    }
+
+    private void awaitNoTableReads() throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(500);
+        while (userPointTable.inFlight.get() > 0) {
+            if (System.nanoTime() > deadline) {
+                fail("진행 중인 테이블 조회가 끝나지 않았습니다");
+            }
+            TimeUnit.MILLISECONDS.sleep(5);
+        }
+    }
+
+    /**
+     * 호출 순서대로 지정한 지연 시간만큼 대기하는 테이블
+     * 실제 테이블처럼 인터럽트되면 대기를 멈추며, 몇 번째 호출인지를 포인트로 반환한다.
+     */
+    private static class ScriptedUserPointTable extends UserPointTable {
+
+        private final ConcurrentLinkedQueue<Long> delays = new ConcurrentLinkedQueue<>();
+        private final AtomicInteger calls = new AtomicInteger();
+        private final AtomicInteger interrupted = new AtomicInteger();
+        private final AtomicInteger inFlight = new AtomicInteger();
+
+        void delays(Long... millis) {
+            delays.addAll(List.of(millis));
+        }
+
+        @Override
+        public UserPoint selectById(Long id) {
+            int call = calls.incrementAndGet();
+            inFlight.incrementAndGet();
+            try {
+                Long delay = delays.poll();
+                if (delay != null) {
+                    TimeUnit.MILLISECONDS.sleep(delay);
+                }
+            } catch (InterruptedException e) {
+                interrupted.incrementAndGet();
+            } finally {
+                inFlight.decrementAndGet();
+            }
+            return new UserPoint(id, call, System.currentTimeMillis());
+        }
+    }
+}
@@ -0,0 +1,253 @@
+package io.hhplus.tdd.point;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Lock;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class LeaseUserLockProviderTest {
+
+    private final List<LeaseUserLockProvider> providers = new ArrayList<>();
+
+    @AfterEach
+    void tearDown() {
+        providers.forEach(LeaseUserLockProvider::close);
+    }
+
+    @Test
+    @DisplayName("같은 임대 저장소를 공유하는 두 인스턴스의 Lock은 서로 배타적이다")
+    public void lock_MutuallyExclusiveAcrossInstances() throws Exception {
+        //given
+        LocalLeaseStore leaseStore = new LocalLeaseStore(0);
+        List<LeaseUserLockProvider> instances = List.of(newProvider(leaseStore, 3000), newProvider(leaseStore, 3000));
+        int threadsPerInstance = 4;
+        int incrementsPerThread = 200;
+        long[] counter = new long[1];
+        ExecutorService executor = Executors.newFixedThreadPool(instances.size() * threadsPerInstance);
+
+        //when
+        List<Future<?>> futures = new ArrayList<>();
+        for (LeaseUserLockProvider instance : instances) {
+            for (int i = 0; i < threadsPerInstance; i++) {
+                futures.add(executor.submit(() -> {
+                    for (int n = 0; n < incrementsPerThread; n++) {
+                        Lock lock = instance.getLock(1L);
+                        lock.lock();
+                        try {
+                            counter[0]++;
+                        } finally {
+                            lock.unlock();
+                        }
+                    }
+                }));
+            }
+        }
+        for (Future<?> future : futures) {
+            future.get(30, TimeUnit.SECONDS);
+        }
+
+        //then
+        assertThat(counter[0]).isEqualTo((long) instances.size() * threadsPerInstance * incrementsPerThread);
+        executor.shutdown();
+    }
+
+    @Test
+    @DisplayName("로컬 대기자가 있으면 원격 임대를 반납하지 않고 다음 스레드에 넘겨준다")
+    public void lock_HandsOffLeaseToLocalWaiters() throws Exception {
+        //given
+        LocalLeaseStore leaseStore = new LocalLeaseStore(0);
+        LeaseUserLockProvider provider = newProvider(leaseStore, 3000);
+        int threadCount = 8;
+        int locksPerThread = 100;
+        ExecutorService executor = Executors.newFixedThreadPool(threadCount);
+
+        //when
+        List<Future<?>> futures = new ArrayList<>();
+        for (int i = 0; i < threadCount; i++) {
+            futures.add(executor.submit(() -> {
+                for (int n = 0; n < locksPerThread; n++) {
+                    Lock lock = provider.getLock(1L);
+                    lock.lock();
+                    try {
+                        TimeUnit.MICROSECONDS.sleep(50);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    } finally {
+                        lock.unlock();
+                    }
+                }
+            }));
+        }
+        for (Future<?> future : futures) {
+            future.get(30, TimeUnit.SECONDS);
+        }
+
+        //then
+        LeaseUserLockProvider.LeaseStats stats = provider.stats();
+        assertThat(stats.localHandoffs()).isGreaterThan(0);
+        assertThat(stats.remoteAcquires() + stats.localHandoffs()).isEqualTo((long) threadCount * locksPerThread);
+        assertThat(leaseStore.roundTrips()).isLessThan(2L * threadCount * locksPerThread);
+        executor.shutdown();
+    }
+
+    @Test
+    @DisplayName("임대 연장에 실패하면 fencing token 조회가 거부되고 다른 인스턴스가 임대를 획득한다")
+    public void currentFencingToken_RejectsAfterLeaseLost() throws Exception {
+        //given
+        LocalLeaseStore delegate = new LocalLeaseStore(0);
+        LeaseStore renewalFailingStore = new LeaseStore() {
+            @Override
+            public long tryAcquire(long userId, String owner, long leaseMillis) {
+                return delegate.tryAcquire(userId, owner, leaseMillis);
+            }
+
+            @Override
+            public boolean renew(long userId, String owner, long token, long leaseMillis) {
+                return false;
+            }
+
+            @Override
+            public boolean validate(long userId, String owner, long token) {
+                return delegate.validate(userId, owner, token);
+            }
+
+            @Override
+            public void release(long userId, String owner, long token) {
+                delegate.release(userId, owner, token);
+            }
+        };
+        LeaseUserLockProvider stale = newProvider(renewalFailingStore, 30);
+        LeaseUserLockProvider other = newProvider(delegate, 3000);
+        Lock staleLock = stale.getLock(1L);
+        staleLock.lock();
+        long staleToken = stale.currentFencingToken(1L);
+
+        //when
+        TimeUnit.MILLISECONDS.sleep(100);
+        Lock otherLock = other.getLock(1L);
+        boolean acquired = otherLock.tryLock(1, TimeUnit.SECONDS);
+
+        //then
+        try {
+            assertThatThrownBy(() -> stale.currentFencingToken(1L))
+                    .isInstanceOf(IllegalStateException.class);
+            assertThat(acquired).isTrue();
+            assertThat(other.currentFencingToken(1L)).isGreaterThan(staleToken);
+        } finally {
+            otherLock.unlock();
+            staleLock.unlock();
+        }
+    }
+
+    @Test
+    @DisplayName("임대 연장이 정상이면 쓰기 시점 fencing 검사는 임대 저장소를 다시 확인하지 않는다")
+    public void checkFencingToken_SkipsRemoteCheckWhileRenewed() {
+        //given
+        LocalLeaseStore leaseStore = new LocalLeaseStore(0);
+        LeaseUserLockProvider provider = newProvider(leaseStore, 3000);
+        UserLockManager lockManager = new UserLockManager(provider);
+        Lock lock = lockManager.getLock(1L);
+
+        //when
+        lock.lock();
+        try {
+            for (int i = 0; i < 100; i++) {
+                lockManager.checkFencingToken(1L);
+            }
+        } finally {
+            lock.unlock();
+        }
+
+        //then (획득, 반납 두 번의 왕복만 발생)
+        assertThat(provider.stats().remoteValidations()).isZero();
+        assertThat(leaseStore.roundTrips()).isEqualTo(2L);
+    }
+
+    @Test
+    @DisplayName("임대 연장이 오류로 끝난 뒤에는 임대 저장소에서 다시 확인해, 다른 소유자에게 넘어갔으면 쓰기를 거부한다")
+    public void checkFencingToken_RejectsWhenStoreMovedOnAfterRenewalError() throws Exception {
+        //given
+        LocalLeaseStore delegate = new LocalLeaseStore(0);
+        // 저장소의 임대는 30ms 만에 사라지고(장애 조치, 시계 오차 등) 연장 요청은 응답 없이 실패하는 상황
+        LeaseStore failingRenewalStore = new LeaseStore() {
+            @Override
+            public long tryAcquire(long userId, String owner, long leaseMillis) {
+                return delegate.tryAcquire(userId, owner, 30);
+            }
+
+            @Override
+            public boolean renew(long userId, String owner, long token, long leaseMillis) {
+                throw new IllegalStateException("임대 저장소 응답 시간 초과");
+            }
+
+            @Override
+            public boolean validate(long userId, String owner, long token) {
+                return delegate.validate(userId, owner, token);
+            }
+
+            @Override
+            public void release(long userId, String owner, long token) {
+                delegate.release(userId, owner, token);
+            }
+        };
+        // 임대 3초: 1초 뒤 첫 연장이 실패하고, 로컬 만료 시각은 아직 원격 확인 구간(남은 시간 1.5초 이하) 밖이다
+        LeaseUserLockProvider stale = newProvider(failingRenewalStore, 3000);
+        LeaseUserLockProvider other = newProvider(delegate, 3000);
+        UserLockManager staleManager = new UserLockManager(stale);
+        UserLockManager otherManager = new UserLockManager(other);
+        Lock staleLock = stale.getLock(1L);
+        staleLock.lock();
+        staleManager.checkFencingToken(1L);
+
+        //when
+        TimeUnit.MILLISECONDS.sleep(1200);
+        Lock otherLock = other.getLock(1L);
+        boolean acquired = otherLock.tryLock(1, TimeUnit.SECONDS);
+
+        //then
+        try {
+            assertThat(acquired).isTrue();
+            otherManager.checkFencingToken(1L);
+            // 로컬 만료 시각으로는 아직 유효해 token 조회는 성공하지만, 저장소 확인에서 거부된다
+            assertThat(stale.currentFencingToken(1L)).isLessThan(other.currentFencingToken(1L));
+            assertThatThrownBy(() -> staleManager.checkFencingToken(1L))
+                    .isInstanceOf(IllegalStateException.class)
+                    .hasMessageContaining("다른 소유자");
+            assertThat(stale.stats().remoteValidations()).isEqualTo(1L);
+            assertThat(stale.stats().lostLeases()).isEqualTo(1L);
+        } finally {
+            otherLock.unlock();
+            staleLock.unlock();
+        }
+    }
+
+    @Test
+    @DisplayName("메모리 Lock 제공자는 fencing 검사를 하지 않는다")
+    public void checkFencingToken_NoOpForMemoryProvider() {
+        //given
+        UserLockManager lockManager = new UserLockManager(new InMemoryUserLockProvider());
+        Lock lock = lockManager.getLock(1L);
+
+        //when & then
+        lock.lock();
+        try {
+            lockManager.checkFencingToken(1L);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private LeaseUserLockProvider newProvider(LeaseStore leaseStore, long leaseMillis) {
+        LeaseUserLockProvider provider = new LeaseUserLockProvider(leaseStore, leaseMillis, 5_000, 1, 32);
+        providers.add(provider);
+        return provider;
+    }
+}
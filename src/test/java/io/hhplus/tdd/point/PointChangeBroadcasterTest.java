@@ -0,0 +1,180 @@
+package io.hhplus.tdd.point;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+class PointChangeBroadcasterTest {
+
+    private final List<RecordingEmitter> emitters = new CopyOnWriteArrayList<>();
+    private PointChangeBroadcaster broadcaster;
+
+    @BeforeEach
+    void setUp() {
+        // 전송 스레드 1개, 200ms 이상 끝나지 않는 전송은 느린 구독자로 판단
+        broadcaster = new PointChangeBroadcaster(1, 60_000L, 200L) {
+            @Override
+            SseEmitter createEmitter(long timeoutMillis) {
+                RecordingEmitter emitter = new RecordingEmitter();
+                emitters.add(emitter);
+                return emitter;
+            }
+        };
+    }
+
+    @AfterEach
+    void tearDown() {
+        emitters.forEach(emitter -> emitter.release.countDown());
+        broadcaster.shutdown();
+    }
+
+    @Test
+    @DisplayName("구독한 사용자의 커밋된 변경만 전달하고, 초기 데이터 적재 이벤트는 전달하지 않는다")
+    public void subscribe_DeliversCommittedChangesOfUser() throws Exception {
+        //given
+        broadcaster.subscribe(1L);
+        RecordingEmitter emitter = emitters.get(0);
+        emitter.release.countDown();
+
+        //when
+        broadcaster.onPointChanged(new PointChangedEvent(new UserPoint(1L, 5000L, 1L), null));
+        broadcaster.onPointChanged(changed(2L, 7000L));
+        broadcaster.onPointChanged(changed(1L, 6000L));
+
+        //then
+        await(() -> emitter.sentPoints.size() == 1);
+        assertThat(broadcaster.subscriberCount(1L)).isEqualTo(1);
+        assertThat(emitter.sentPoints).containsExactly(6000L);
+    }
+
+    @Test
+    @DisplayName("전송이 밀린 동안 도착한 변경은 최신 값 하나로 합쳐서 전달한다")
+    public void onPointChanged_CoalescesWhileSending() throws Exception {
+        //given
+        broadcaster.subscribe(1L);
+        RecordingEmitter emitter = emitters.get(0);
+        broadcaster.onPointChanged(changed(1L, 1000L));
+        assertThat(emitter.sending.await(1, TimeUnit.SECONDS)).isTrue();
+
+        //when
+        broadcaster.onPointChanged(changed(1L, 2000L));
+        broadcaster.onPointChanged(changed(1L, 3000L));
+        broadcaster.onPointChanged(changed(1L, 4000L));
+        emitter.release.countDown();
+
+        //then
+        await(() -> emitter.sentPoints.size() == 2);
+        assertThat(emitter.sentPoints).containsExactly(1000L, 4000L);
+    }
+
+    @Test
+    @DisplayName("연결이 끝난 구독자는 구독이 해제되어 이후 변경을 받지 않는다")
+    public void onCompletion_Unsubscribes() throws Exception {
+        //given
+        broadcaster.subscribe(1L);
+        RecordingEmitter emitter = emitters.get(0);
+        emitter.release.countDown();
+
+        //when
+        emitter.completionCallback.run();
+        broadcaster.onPointChanged(changed(1L, 6000L));
+
+        //then
+        assertThat(broadcaster.subscriberCount(1L)).isZero();
+        TimeUnit.MILLISECONDS.sleep(50);
+        assertThat(emitter.sentPoints).isEmpty();
+    }
+
+    @Test
+    @DisplayName("전송이 막힌 구독자가 여럿이어도 해제하고 스레드를 대신 추가하여 다른 구독자에게는 계속 전달한다")
+    public void evictSlowSubscribers_ReplacesStalledThreads() throws Exception {
+        //given: 전송 스레드 1개를 두 구독자의 막힌 전송이 차례로 붙잡는 상황
+        broadcaster.subscribe(1L);
+        broadcaster.subscribe(2L);
+        broadcaster.subscribe(3L);
+        RecordingEmitter first = emitters.get(0);
+        RecordingEmitter second = emitters.get(1);
+        RecordingEmitter other = emitters.get(2);
+        other.release.countDown();
+        broadcaster.onPointChanged(changed(1L, 1000L));
+        broadcaster.onPointChanged(changed(2L, 2000L));
+
+        //when
+        broadcaster.onPointChanged(changed(3L, 3000L));
+
+        //then
+        await(() -> other.sentPoints.size() == 1);
+        assertThat(first.sending.getCount()).isZero();
+        assertThat(second.sending.getCount()).isZero();
+        assertThat(broadcaster.subscriberCount(1L)).isZero();
+        assertThat(broadcaster.subscriberCount(2L)).isZero();
+        assertThat(broadcaster.dispatcherPoolSize()).isEqualTo(3);
+        assertThat(other.sentPoints).containsExactly(3000L);
+
+        // 막혔던 전송이 끝나면 그 스레드가 연결을 닫고 풀에서 빠진다
+        first.release.countDown();
+        second.release.countDown();
+        await(() -> broadcaster.dispatcherPoolSize() == 1);
+        assertThat(first.sentPoints).containsExactly(1000L);
+        assertThat(second.sentPoints).containsExactly(2000L);
+    }
+
+    private static PointChangedEvent changed(long userId, long point) {
+        return new PointChangedEvent(new UserPoint(userId, point, 1L),
+                new PointHistory(1L, userId, 1000L, TransactionType.CHARGE, 1L));
+    }
+
+    private static void await(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(2);
+        while (!condition.getAsBoolean()) {
+            if (System.nanoTime() > deadline) {
+                fail("조건을 만족하지 못했습니다");
+            }
+            TimeUnit.MILLISECONDS.sleep(5);
+        }
+    }
+
+    /**
+     * 전송된 포인트를 기록하고, release 전까지 전송을 막을 수 있는 SseEmitter
+     * complete()는 재정의하지 않으며, 전송은 emitter의 Lock을 잡은 채로 막혀 진행 중인 send()와 complete()가 서로 기다리는 상황을 흉내낸다.
+     */
+    private static class RecordingEmitter extends SseEmitter {
+
+        private final List<Long> sentPoints = new CopyOnWriteArrayList<>();
+        private final CountDownLatch sending = new CountDownLatch(1);
+        private final CountDownLatch release = new CountDownLatch(1);
+        private volatile Runnable completionCallback;
+
+        @Override
+        public synchronized void send(SseEventBuilder builder) {
+            sending.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            for (ResponseBodyEmitter.DataWithMediaType data : builder.build()) {
+                if (data.getData() instanceof PointChangedEvent event) {
+                    sentPoints.add(event.userPoint().point());
+                }
+            }
+        }
+
+        @Override
+        public void onCompletion(Runnable callback) {
+            this.completionCallback = callback;
+            super.onCompletion(callback);
+        }
+    }
+}
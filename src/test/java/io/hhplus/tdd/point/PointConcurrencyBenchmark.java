@@ -0,0 +1,117 @@
+package io.hhplus.tdd.point;
+
+import io.hhplus.tdd.database.UserPointTable;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 비관적 Lock / 낙관적 모드의 충전 처리량 측정 (README 4.4 표)
+ * 실행: ./gradlew benchmarkConcurrency -Pseconds=10 -Pwarmup=3
+ * 시나리오마다 테이블과 서비스를 새로 만들고, 사용자당 지정한 수의 스레드가 1,000원 충전을 반복한다.
+ * 테이블 지연이 무작위이므로 같은 설정에서도 실행마다 수 % 정도 차이가 난다.
+ */
+public class PointConcurrencyBenchmark {
+
+    private static final long CHARGE_AMOUNT = 1000L;
+
+    private static final Scenario[] SCENARIOS = {
+            new Scenario("32명 × 사용자당 1스레드 (경합 없음)", 32, 1, false),
+            new Scenario("32명 × 사용자당 1스레드 (경합 없음)", 32, 1, true),
+            new Scenario("8명 × 사용자당 2스레드", 8, 2, false),
+            new Scenario("2명 × 사용자당 8스레드 (경합 높음)", 2, 8, false),
+    };
+
+    public static void main(String[] args) throws InterruptedException {
+        long seconds = (args.length > 0) ? Long.parseLong(args[0]) : 10L;
+        long warmupSeconds = (args.length > 1) ? Long.parseLong(args[1]) : 3L;
+        System.out.printf("측정 %d초, 워밍업 %d초%n%n", seconds, warmupSeconds);
+        System.out.println("| 시나리오 | 캐시 | PESSIMISTIC | OPTIMISTIC | 충돌 | 비관적 전환 |");
+        System.out.println("|---|---|---|---|---|---|");
+
+        for (Scenario scenario : SCENARIOS) {
+            Result pessimistic = run(scenario, ConcurrencyMode.PESSIMISTIC, seconds, warmupSeconds);
+            Result optimistic = run(scenario, ConcurrencyMode.OPTIMISTIC, seconds, warmupSeconds);
+            System.out.printf("| %s | %s | %.1f ops/s | %.1f ops/s | %d | %d |%n",
+                    scenario.name(), scenario.cache() ? "ON" : "OFF",
+                    pessimistic.opsPerSecond(), optimistic.opsPerSecond(),
+                    optimistic.stats().conflicts(), optimistic.stats().fallbacks());
+        }
+    }
+
+    private static Result run(Scenario scenario, ConcurrencyMode mode, long seconds, long warmupSeconds)
+            throws InterruptedException {
+        UserPointTable userPointTable = new UserPointTable();
+        KnownUserFilter knownUserFilter = new KnownUserFilter(1_000L, 0.01);
+        OptimisticRetryPolicy retryPolicy = new OptimisticRetryPolicy(mode, 3, 500L);
+        PointService pointService = new PointServiceFixture()
+                .userPointTable(userPointTable)
+                .knownUserFilter(knownUserFilter)
+                .userPointCache(new UserPointCache(scenario.cache(), 1_000L, 0L))
+                .retryPolicy(retryPolicy)
+                .build();
+        for (long userId = 1; userId <= scenario.users(); userId++) {
+            userPointTable.insertOrUpdate(userId, 0L);
+            knownUserFilter.put(userId);
+        }
+
+        AtomicBoolean measuring = new AtomicBoolean();
+        AtomicBoolean running = new AtomicBoolean(true);
+        LongAdder ops = new LongAdder();
+        List<Thread> threads = new ArrayList<>();
+        CountDownLatch finished = new CountDownLatch(scenario.users() * scenario.threadsPerUser());
+        for (long userId = 1; userId <= scenario.users(); userId++) {
+            long id = userId;
+            for (int i = 0; i < scenario.threadsPerUser(); i++) {
+                Thread thread = new Thread(() -> {
+                    try {
+                        while (running.get()) {
+                            pointService.chargePoint(id, CHARGE_AMOUNT);
+                            if (measuring.get()) {
+                                ops.increment();
+                            }
+                        }
+                    } finally {
+                        finished.countDown();
+                    }
+                });
+                threads.add(thread);
+                thread.start();
+            }
+        }
+
+        TimeUnit.SECONDS.sleep(warmupSeconds);
+        OptimisticRetryPolicy.OptimisticStats before = retryPolicy.stats();
+        measuring.set(true);
+        long start = System.nanoTime();
+        TimeUnit.SECONDS.sleep(seconds);
+        measuring.set(false);
+        long elapsedNanos = System.nanoTime() - start;
+        OptimisticRetryPolicy.OptimisticStats after = retryPolicy.stats();
+        running.set(false);
+        finished.await();
+
+        double opsPerSecond = ops.sum() * 1e9 / elapsedNanos;
+        return new Result(opsPerSecond, new OptimisticRetryPolicy.OptimisticStats(mode,
+                after.optimisticCommits() - before.optimisticCommits(),
+                after.conflicts() - before.conflicts(),
+                after.fallbacks() - before.fallbacks()));
+    }
+
+    private record Scenario(
+            String name,
+            int users,
+            int threadsPerUser,
+            boolean cache
+    ) {
+    }
+
+    private record Result(
+            double opsPerSecond,
+            OptimisticRetryPolicy.OptimisticStats stats
+    ) {
+    }
+}
@@ -1,13 +1,20 @@
 package io.hhplus.tdd.point;
 
+import static org.hamcrest.Matchers.not;
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -28,6 +35,23 @@ class PointControllerTest {
     @MockBean //가짜 객체 (Mock)
     private PointService pointService;
 
+    @MockBean
+    private PointHistoryExporter pointHistoryExporter;
+
+    @MockBean
+    private PointChangeBroadcaster pointChangeBroadcaster;
+
+    @MockBean
+    private DataInitializer dataInitializer;
+
+    @MockBean
+    private PointOutbox pointOutbox;
+
+    @BeforeEach
+    void setUp() {
+        when(dataInitializer.isReady()).thenReturn(true);
+        when(pointOutbox.hasCapacity()).thenReturn(true);
+    }
 
     /*
       주로 사용하는 것들:
@@ -77,6 +101,54 @@ class PointControllerTest {
                 .andExpect(jsonPath("$[2].type").value("USE"));
 
     }
+    @Test
+    @DisplayName("GET /point/{id} - 버전이 바뀌지 않았으면 테이블 조회 없이 304를 반환한다")
+    public void getPoint_NotModifiedWhenETagMatches() throws Exception {
+        //given
+        when(pointService.getVersion(1L)).thenReturn(3L);
+        when(pointService.getUserPoint(1L))
+                .thenReturn(new UserPoint(1L, 5000, System.currentTimeMillis()));
+        String eTag = mockMvc.perform(get("/point/1"))
+                .andExpect(status().isOk())
+                .andExpect(header().exists("ETag"))
+                .andExpect(header().doesNotExist("Last-Modified"))
+                .andReturn().getResponse().getHeader("ETag");
+
+        //when & then
+        mockMvc.perform(get("/point/1").header("If-None-Match", eTag))
+                .andExpect(status().isNotModified());
+        verify(pointService, times(1)).getUserPoint(anyLong());
+    }
+
+    @Test
+    @DisplayName("GET /point/{id} - If-Modified-Since만 보내면 같은 초에 바뀐 잔액을 놓치지 않도록 항상 새로 조회한다")
+    public void getPoint_IgnoresIfModifiedSince() throws Exception {
+        //given
+        long now = System.currentTimeMillis();
+        when(pointService.getVersion(1L)).thenReturn(4L);
+        when(pointService.getUserPoint(1L)).thenReturn(new UserPoint(1L, 7000, now));
+
+        //when & then
+        mockMvc.perform(get("/point/1").header("If-Modified-Since", now + 60_000L))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.point").value(7000));
+    }
+
+    @Test
+    @DisplayName("GET /point/{id}/histories - 버전이 바뀌면 새 내역을 반환한다")
+    public void getHistories_OkWhenVersionChanged() throws Exception {
+        //given
+        when(pointService.getVersion(1L)).thenReturn(1L);
+        String eTag = mockMvc.perform(get("/point/1/histories"))
+                .andReturn().getResponse().getHeader("ETag");
+        when(pointService.getVersion(1L)).thenReturn(2L);
+
+        //when & then
+        mockMvc.perform(get("/point/1/histories").header("If-None-Match", eTag))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", not(eTag)));
+    }
+
     @Test
     @DisplayName("PATCH /point/{id}/charge - 사용자 포인트 충전 성공")
     public void chargePoint() throws Exception {
@@ -124,4 +196,38 @@ class PointControllerTest {
                 .andExpect(jsonPath("$.id").value(userId))
                 .andExpect(jsonPath("$.point").value(expectedPoint));
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("PATCH /point/{id}/charge - 초기 데이터 적재 중에는 503으로 거절")
+    public void chargePoint_NotReady() throws Exception {
+        // given
+        when(dataInitializer.isReady()).thenReturn(false);
+
+        // when & then
+        mockMvc.perform(
+                        patch("/point/{id}/charge", 1L)
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content("{\"amount\":500}")
+                )
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(jsonPath("$.code").value("503"));
+        verify(pointService, never()).chargePoint(anyLong(), anyLong());
+    }
+
+    @Test
+    @DisplayName("PATCH /point/{id}/use - outbox가 가득 차면 503으로 거절")
+    public void usePoint_OutboxFull() throws Exception {
+        // given
+        when(pointOutbox.hasCapacity()).thenReturn(false);
+
+        // when & then
+        mockMvc.perform(
+                        patch("/point/{id}/use", 1L)
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content("{\"amount\":300}")
+                )
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(jsonPath("$.code").value("503"));
+        verify(pointService, never()).usePoint(anyLong(), anyLong());
+    }
+}
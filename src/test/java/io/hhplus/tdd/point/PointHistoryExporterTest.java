@@ -0,0 +1,102 @@
+package io.hhplus.tdd.point;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.GZIPInputStream;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class PointHistoryExporterTest {
+
+    private PointHistoryLog pointHistoryLog;
+    private PointHistoryExporter exporter;
+
+    @BeforeEach
+    void setUp() {
+        pointHistoryLog = new PointHistoryLog();
+        pointHistoryLog.append(new PointHistory(1L, 1L, 5000L, TransactionType.CHARGE, 1_000L));
+        pointHistoryLog.append(new PointHistory(2L, 2L, 15000L, TransactionType.CHARGE, 2_000L));
+        pointHistoryLog.append(new PointHistory(3L, 2L, 5000L, TransactionType.USE, 3_000L));
+        exporter = new PointHistoryExporter(pointHistoryLog);
+    }
+
+    @Test
+    @DisplayName("NDJSON 형식으로 updateMillis 범위 내의 내역만 내보낸다")
+    public void export_NdjsonWithinRange() throws Exception {
+        //given
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        //when
+        long count = exporter.export(out, HistoryExportFormat.NDJSON, 2_000L, 3_000L, false);
+
+        //then
+        assertThat(count).isEqualTo(1L);
+        assertThat(out.toString(StandardCharsets.UTF_8))
+                .isEqualTo("{\"id\":2,\"userId\":2,\"amount\":15000,\"type\":\"CHARGE\",\"updateMillis\":2000}\n");
+    }
+
+    @Test
+    @DisplayName("CSV 형식을 gzip으로 압축하여 내보낸다")
+    public void export_GzipCsv() throws Exception {
+        //given
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        //when
+        long count = exporter.export(out, HistoryExportFormat.CSV, Long.MIN_VALUE, Long.MAX_VALUE, true);
+
+        //then
+        String csv = new String(new GZIPInputStream(new ByteArrayInputStream(out.toByteArray())).readAllBytes(),
+                StandardCharsets.UTF_8);
+        assertThat(count).isEqualTo(3L);
+        assertThat(csv.lines()).containsExactly(
+                "id,userId,amount,type,updateMillis",
+                "1,1,5000,CHARGE,1000",
+                "2,2,15000,CHARGE,2000",
+                "3,2,5000,USE,3000");
+    }
+
+    @Test
+    @DisplayName("스냅샷을 내역과 함께 내보내면 스냅샷 이후에 커밋된 포인트와 내역은 제외한다")
+    public void exportSnapshot_WithHistories() throws Exception {
+        //given
+        PointSnapshotStore snapshotStore = new PointSnapshotStore(pointHistoryLog);
+        snapshotStore.recordPoint(new UserPoint(1L, 5000L, 1_000L), true);
+        snapshotStore.recordPoint(new UserPoint(2L, 15000L, 2_000L), true);
+        snapshotStore.recordPoint(new UserPoint(2L, 10000L, 3_000L), true);
+        // 로그에는 추가되었지만 아직 커밋(recordPoint)되지 않은 내역
+        pointHistoryLog.append(new PointHistory(4L, 2L, 1000L, TransactionType.USE, 3_500L));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        //when
+        long count;
+        try (PointSnapshotStore.Snapshot snapshot = snapshotStore.open()) {
+            snapshotStore.recordPoint(new UserPoint(2L, 9000L, 3_500L), true);
+            pointHistoryLog.append(new PointHistory(5L, 1L, 1000L, TransactionType.CHARGE, 4_000L));
+            snapshotStore.recordPoint(new UserPoint(1L, 6000L, 4_000L), true);
+            pointHistoryLog.append(new PointHistory(6L, 3L, 2000L, TransactionType.CHARGE, 5_000L));
+            snapshotStore.recordPoint(new UserPoint(3L, 2000L, 5_000L), true);
+            count = exporter.exportSnapshot(out, snapshot, true, false);
+        }
+
+        //then
+        assertThat(count).isEqualTo(5L);
+        assertThat(out.toString(StandardCharsets.UTF_8).lines()).containsExactlyInAnyOrder(
+                "{\"id\":1,\"point\":5000,\"updateMillis\":1000,\"historyCount\":1}",
+                "{\"id\":2,\"point\":10000,\"updateMillis\":3000,\"historyCount\":2}",
+                "{\"id\":1,\"userId\":1,\"amount\":5000,\"type\":\"CHARGE\",\"updateMillis\":1000}",
+                "{\"id\":2,\"userId\":2,\"amount\":15000,\"type\":\"CHARGE\",\"updateMillis\":2000}",
+                "{\"id\":3,\"userId\":2,\"amount\":5000,\"type\":\"USE\",\"updateMillis\":3000}");
+    }
+
+    @Test
+    @DisplayName("지원하지 않는 형식은 예외가 발생한다")
+    public void from_FailWhen_UnsupportedFormat() {
+        assertThatThrownBy(() -> HistoryExportFormat.from("xml"))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("지원하지 않는 내보내기 형식입니다");
+    }
+}
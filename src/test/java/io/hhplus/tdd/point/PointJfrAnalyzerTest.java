@@ -0,0 +1,108 @@
+package io.hhplus.tdd.point;
+
+import static org.assertj.core.api.Assertions.*;
+
+import io.hhplus.tdd.database.UserPointTable;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import jdk.jfr.Recording;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class PointJfrAnalyzerTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    @DisplayName("JFR 기록에서 PointPhaseEvent만 읽어 type/phase별로 소요 시간을 모은다")
+    public void analyze_GroupsPhaseEvents() throws Exception {
+        //given
+        Path file = tempDir.resolve("recording.jfr");
+        try (Recording recording = new Recording()) {
+            recording.enable(PointPhaseEvent.NAME).withThreshold(Duration.ZERO);
+            recording.start();
+            for (int i = 0; i < 3; i++) {
+                phase(1L, TransactionType.CHARGE.name(), PointPhaseEvent.LOCK_HOLD, 5L);
+            }
+            phase(2L, TransactionType.USE.name(), PointPhaseEvent.SELECT_BY_ID, 20L);
+            recording.stop();
+            recording.dump(file);
+        }
+
+        //when
+        Map<String, PointJfrAnalyzer.PhaseDurations> phases = PointJfrAnalyzer.analyze(file);
+
+        //then
+        assertThat(phases.keySet()).containsExactly("CHARGE/lockHold", "USE/selectById");
+        PointJfrAnalyzer.PhaseDurations lockHold = phases.get("CHARGE/lockHold");
+        assertThat(lockHold.count()).isEqualTo(3);
+        assertThat(lockHold.total()).isGreaterThan(TimeUnit.MILLISECONDS.toNanos(15) - 1);
+        PointJfrAnalyzer.PhaseDurations select = phases.get("USE/selectById");
+        assertThat(select.count()).isEqualTo(1);
+        assertThat(select.percentile(1.0)).isGreaterThan(TimeUnit.MILLISECONDS.toNanos(20) - 1);
+    }
+
+    @Test
+    @DisplayName("낙관적 모드의 충전도 검증/조회/Lock/쓰기 단계가 기록된다")
+    public void analyze_OptimisticChargePhases() throws Exception {
+        //given
+        UserPointTable userPointTable = new UserPointTable();
+        userPointTable.insertOrUpdate(1L, 5000L);
+        KnownUserFilter knownUserFilter = new KnownUserFilter(1_000L, 0.01);
+        knownUserFilter.put(1L);
+        PointService pointService = new PointServiceFixture()
+                .userPointTable(userPointTable)
+                .knownUserFilter(knownUserFilter)
+                .userPointCache(new UserPointCache(false, 0L, 0L))
+                .retryPolicy(new OptimisticRetryPolicy(ConcurrencyMode.OPTIMISTIC, 3, 500L))
+                .build();
+        Path file = tempDir.resolve("optimistic.jfr");
+
+        //when
+        try (Recording recording = new Recording()) {
+            recording.enable(PointPhaseEvent.NAME).withThreshold(Duration.ZERO);
+            recording.start();
+            pointService.chargePoint(1L, 1000L);
+            recording.stop();
+            recording.dump(file);
+        }
+        Map<String, PointJfrAnalyzer.PhaseDurations> phases = PointJfrAnalyzer.analyze(file);
+
+        //then
+        assertThat(phases.keySet()).contains("CHARGE/validation", "CHARGE/selectById", "CHARGE/lockWait",
+                "CHARGE/lockHold", "CHARGE/historyInsert", "CHARGE/insertOrUpdate");
+        // 금액 검증과 잔액 검증/계산
+        assertThat(phases.get("CHARGE/validation").count()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("백분위수는 정렬된 값에서 nearest-rank 방식으로 구한다")
+    public void percentile_NearestRank() {
+        //given
+        PointJfrAnalyzer.PhaseDurations durations = new PointJfrAnalyzer.PhaseDurations();
+        for (long nanos = 100; nanos >= 1; nanos--) {
+            durations.add(nanos);
+        }
+
+        //when
+        durations.sort();
+
+        //then
+        assertThat(durations.count()).isEqualTo(100);
+        assertThat(durations.total()).isEqualTo(5050L);
+        assertThat(durations.percentile(0.50)).isEqualTo(50L);
+        assertThat(durations.percentile(0.99)).isEqualTo(99L);
+        assertThat(durations.percentile(1.0)).isEqualTo(100L);
+        assertThat(new PointJfrAnalyzer.PhaseDurations().percentile(0.5)).isZero();
+    }
+
+    private static void phase(long userId, String type, String phase, long millis) throws InterruptedException {
+        PointPhaseEvent event = PointPhaseEvent.start(userId, type, phase);
+        TimeUnit.MILLISECONDS.sleep(millis);
+        event.finish();
+    }
+}
@@ -0,0 +1,116 @@
+package io.hhplus.tdd.point;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.List;
+import org.springframework.core.ResolvableType;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.GenericHttpMessageConverter;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+
+/**
+ * 전용 JSON 변환기와 기본 Jackson 변환기(MappingJackson2HttpMessageConverter)의 응답 기록 비용 비교 (README 4.8 표)
+ * 실행: ./gradlew benchmarkJson -Piterations=1000000
+ * 두 변환기 모두 HttpMessageConverter.write로 재사용하는 출력 버퍼에 기록하며, 건당 할당량은 ThreadMXBean으로 잰다.
+ */
+public class PointJsonBenchmark {
+
+    private static final int ROUNDS = 5;
+    private static final Type HISTORY_LIST = ResolvableType.forClassWithGenerics(List.class, PointHistory.class).getType();
+
+    public static void main(String[] args) throws IOException {
+        int iterations = (args.length > 0) ? Integer.parseInt(args[0]) : 1_000_000;
+        MappingJackson2HttpMessageConverter jackson = new MappingJackson2HttpMessageConverter();
+        PointJsonHttpMessageConverter point = new PointJsonHttpMessageConverter(100_000L);
+        List<PointHistory> histories = new ArrayList<>();
+        for (long i = 1; i <= 20; i++) {
+            TransactionType type = (i % 3 == 0) ? TransactionType.USE : TransactionType.CHARGE;
+            histories.add(new PointHistory(i, 1L, i * 1000L, type, 1_700_000_000_000L + i));
+        }
+
+        Case[] cases = {
+                new Case("`UserPoint` (캐시 적중)", UserPoint.class, i -> new UserPoint(1L, 5000L, 1_700_000_000_000L)),
+                new Case("`UserPoint` (새 버전)", UserPoint.class, i -> new UserPoint(1L, 5000L + i, 1_700_000_000_000L + i)),
+                new Case("`UserPoint` (없는 사용자)", UserPoint.class, i -> UserPoint.empty(1_000_000L + i)),
+                new Case("`List<PointHistory>` 20건", HISTORY_LIST, i -> histories),
+        };
+
+        System.out.printf("라운드당 %,d건, %d라운드 중 마지막 라운드 기준%n%n", iterations, ROUNDS);
+        System.out.println("| 응답 | Jackson 변환기 | 전용 변환기 |");
+        System.out.println("|---|---|---|");
+        for (Case c : cases) {
+            Result jacksonResult = null;
+            Result pointResult = null;
+            for (int round = 0; round < ROUNDS; round++) {
+                jacksonResult = run(jackson, c, iterations);
+                pointResult = run(point, c, iterations);
+            }
+            System.out.printf("| %s | %,.0f ns, %,d B | %,.0f ns, %,d B |%n", c.name(),
+                    jacksonResult.nanosPerWrite(), jacksonResult.bytesPerWrite(),
+                    pointResult.nanosPerWrite(), pointResult.bytesPerWrite());
+        }
+    }
+
+    //목적 : iterations번 기록한 평균 시간(ns)과 건당 할당량(bytes)
+    private static Result run(GenericHttpMessageConverter<Object> converter, Case c, int iterations) throws IOException {
+        // 값은 측정 전에 만들어 두어 값 생성 비용을 빼고, 같은 값을 반복하는 경우(캐시 적중)는 같은 객체를 쓴다
+        Object[] values = new Object[Math.min(iterations, 1 << 16)];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = c.value().create(i);
+        }
+        ReusableOutputMessage message = new ReusableOutputMessage();
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long threadId = Thread.currentThread().getId();
+
+        long allocatedBefore = threads.getThreadAllocatedBytes(threadId);
+        long start = System.nanoTime();
+        for (int i = 0; i < iterations; i++) {
+            message.reset();
+            converter.write(values[i % values.length], c.type(), MediaType.APPLICATION_JSON, message);
+        }
+        long elapsed = System.nanoTime() - start;
+        long allocated = threads.getThreadAllocatedBytes(threadId) - allocatedBefore;
+        return new Result((double) elapsed / iterations, allocated / iterations);
+    }
+
+    @FunctionalInterface
+    private interface ValueFactory {
+        Object create(int index);
+    }
+
+    private record Case(String name, Type type, ValueFactory value) {
+    }
+
+    private record Result(double nanosPerWrite, long bytesPerWrite) {
+    }
+
+    /**
+     * 기록할 때마다 버퍼와 헤더를 비우고 다시 쓰는 HttpOutputMessage (출력 대상의 할당을 측정에서 뺀다)
+     */
+    private static final class ReusableOutputMessage implements HttpOutputMessage {
+
+        private final ByteArrayOutputStream body = new ByteArrayOutputStream(64 * 1024);
+        private final HttpHeaders headers = new HttpHeaders();
+
+        private void reset() {
+            body.reset();
+            headers.clear();
+        }
+
+        @Override
+        public OutputStream getBody() {
+            return body;
+        }
+
+        @Override
+        public HttpHeaders getHeaders() {
+            return headers;
+        }
+    }
+}
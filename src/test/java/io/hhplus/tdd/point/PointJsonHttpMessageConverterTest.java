@@ -0,0 +1,108 @@
+package io.hhplus.tdd.point;
+
+import static org.assertj.core.api.Assertions.*;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.ResolvableType;
+import org.springframework.http.MediaType;
+import org.springframework.mock.http.MockHttpOutputMessage;
+
+class PointJsonHttpMessageConverterTest {
+
+    private static final Type HISTORY_LIST = ResolvableType.forClassWithGenerics(List.class, PointHistory.class).getType();
+
+    private final PointJsonHttpMessageConverter converter = new PointJsonHttpMessageConverter(1_000L);
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    @DisplayName("UserPoint를 Jackson 기본 직렬화와 같은 JSON으로 기록한다")
+    public void write_UserPointMatchesJackson() throws Exception {
+        //given
+        UserPoint userPoint = new UserPoint(1L, 5000L, System.currentTimeMillis());
+        MockHttpOutputMessage output = new MockHttpOutputMessage();
+
+        //when
+        converter.write(userPoint, UserPoint.class, MediaType.APPLICATION_JSON, output);
+
+        //then
+        assertThat(output.getBodyAsString()).isEqualTo(objectMapper.writeValueAsString(userPoint));
+        assertThat(output.getHeaders().getContentLength()).isEqualTo(output.getBodyAsBytes().length);
+    }
+
+    @Test
+    @DisplayName("버퍼 크기보다 긴 내역 목록도 Jackson 기본 직렬화와 같은 JSON으로 기록한다")
+    public void write_HistoriesMatchJackson() throws Exception {
+        //given
+        List<PointHistory> histories = new ArrayList<>();
+        for (long i = 1; i <= 1_000; i++) {
+            TransactionType type = (i % 3 == 0) ? TransactionType.USE : TransactionType.CHARGE;
+            histories.add(new PointHistory(i, Long.MAX_VALUE, i * 100L, type, Long.MIN_VALUE + i));
+        }
+        MockHttpOutputMessage output = new MockHttpOutputMessage();
+
+        //when
+        boolean writable = converter.canWrite(HISTORY_LIST, List.class, MediaType.APPLICATION_JSON);
+        converter.write(histories, HISTORY_LIST, MediaType.APPLICATION_JSON, output);
+
+        //then
+        assertThat(writable).isTrue();
+        assertThat(output.getBodyAsString()).isEqualTo(objectMapper.writeValueAsString(histories));
+    }
+
+    @Test
+    @DisplayName("같은 UserPoint는 캐시된 JSON 바이트를 재사용하고, 값이 바뀌면 새로 만든다")
+    public void toJson_ReusesBytesUntilChanged() {
+        //given
+        UserPoint before = new UserPoint(1L, 5000L, 1L);
+        UserPoint after = new UserPoint(1L, 6000L, 2L);
+
+        //when
+        byte[] first = converter.toJson(before);
+        byte[] second = converter.toJson(new UserPoint(1L, 5000L, 1L));
+        byte[] changed = converter.toJson(after);
+
+        //then
+        assertThat(second).isSameAs(first);
+        assertThat(changed).isNotSameAs(first);
+        assertThat(converter.toJson(after)).isSameAs(changed);
+    }
+
+    @Test
+    @DisplayName("없는 사용자의 빈 UserPoint는 캐시에 넣지 않아 기존 사용자의 캐시를 밀어내지 않는다")
+    public void toJson_SkipsCacheForEmptyPoint() {
+        //given
+        PointJsonHttpMessageConverter converter = new PointJsonHttpMessageConverter(1L);
+        UserPoint known = new UserPoint(1L, 5000L, 1L);
+        byte[] cached = converter.toJson(known);
+
+        //when
+        UserPoint empty = UserPoint.empty(2L);
+        byte[] first = converter.toJson(empty);
+        byte[] second = converter.toJson(empty);
+        for (long userId = 3L; userId < 100L; userId++) {
+            converter.toJson(UserPoint.empty(userId));
+        }
+
+        //then
+        assertThat(second).isNotSameAs(first);
+        assertThat(new String(first)).startsWith("{\"id\":2,\"point\":0,");
+        assertThat(converter.toJson(known)).isSameAs(cached);
+    }
+
+    @Test
+    @DisplayName("응답 전용이므로 요청 본문이나 다른 타입은 처리하지 않는다")
+    public void canReadOrWrite_OnlyPointResponses() {
+        //then
+        assertThat(converter.canRead(UserPoint.class, MediaType.APPLICATION_JSON)).isFalse();
+        assertThat(converter.canWrite(ErrorTypes.class, MediaType.APPLICATION_JSON)).isFalse();
+        assertThat(converter.canWrite(UserPoint.class, MediaType.APPLICATION_JSON)).isTrue();
+    }
+
+    private record ErrorTypes(String code) {
+    }
+}
@@ -0,0 +1,98 @@
+package io.hhplus.tdd.point;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.locks.Lock;
+
+/**
+ * Lock 제공자별 획득 → fencing 검사 → 해제 한 번에 드는 시간 측정 (README 4.5 표)
+ * 실행: ./gradlew benchmarkLock -Pops=20000 -ProundTripMicros=200
+ * 원격 왕복은 LocalLeaseStore의 roundTripMicros로 흉내내며, 커밋 경로와 같이 Lock 안에서 checkFencingToken을 한 번 호출한다.
+ */
+public class PointLockBenchmark {
+
+    private static final int ROUNDS = 3;
+    private static final long LEASE_MILLIS = 30_000L;
+
+    public static void main(String[] args) throws InterruptedException {
+        int ops = (args.length > 0) ? Integer.parseInt(args[0]) : 20_000;
+        long roundTripMicros = (args.length > 1) ? Long.parseLong(args[1]) : 200L;
+        Scenario[] scenarios = {
+                new Scenario("1스레드, 1명", 1, 1),
+                new Scenario("8스레드, 1명 (경합 높음)", 8, 1),
+                new Scenario("8스레드, 1,000명 (경합 없음)", 8, 1000),
+        };
+
+        System.out.printf("라운드당 %,d건, %d라운드 중 마지막 라운드 기준 (전체 처리량 기준 연산당 평균 시간)%n%n", ops, ROUNDS);
+        System.out.printf("| 시나리오 | memory | lease (왕복 0µs) | lease (왕복 %dµs) | 원격 획득 / 로컬 인계 / 원격 fencing 확인 (%dµs) |%n",
+                roundTripMicros, roundTripMicros);
+        System.out.println("|---|---|---|---|---|");
+        for (Scenario scenario : scenarios) {
+            Result memory = null;
+            Result lease = null;
+            Result remoteLease = null;
+            for (int round = 0; round < ROUNDS; round++) {
+                memory = run(new InMemoryUserLockProvider(), scenario, ops);
+                lease = runLease(0L, scenario, ops);
+                remoteLease = runLease(roundTripMicros, scenario, ops);
+            }
+            LeaseUserLockProvider.LeaseStats stats = remoteLease.stats();
+            System.out.printf("| %s | %.2f µs | %.2f µs | %.1f µs | %,d / %,d / %,d |%n", scenario.name(),
+                    memory.microsPerOp(), lease.microsPerOp(), remoteLease.microsPerOp(),
+                    stats.remoteAcquires(), stats.localHandoffs(), stats.remoteValidations());
+        }
+    }
+
+    private static Result runLease(long roundTripMicros, Scenario scenario, int ops) throws InterruptedException {
+        try (LeaseUserLockProvider provider = new LeaseUserLockProvider(
+                new LocalLeaseStore(roundTripMicros), LEASE_MILLIS, 5_000L, 1L, 32)) {
+            Result result = run(provider, scenario, ops);
+            return new Result(result.microsPerOp(), provider.stats());
+        }
+    }
+
+    //목적 : scenario의 스레드들이 ops건을 나눠 Lock 획득 → fencing 검사 → 해제를 반복한 연산당 평균 시간(µs)
+    private static Result run(UserLockProvider provider, Scenario scenario, int ops) throws InterruptedException {
+        UserLockManager lockManager = new UserLockManager(provider);
+        int perThread = ops / scenario.threads();
+        CountDownLatch start = new CountDownLatch(1);
+        List<Thread> workers = new ArrayList<>();
+        for (int t = 0; t < scenario.threads(); t++) {
+            int offset = t;
+            Thread worker = new Thread(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+                for (int i = 0; i < perThread; i++) {
+                    long userId = (offset + (long) i * scenario.threads()) % scenario.users() + 1;
+                    Lock lock = lockManager.getLock(userId);
+                    lock.lock();
+                    try {
+                        lockManager.checkFencingToken(userId);
+                    } finally {
+                        lock.unlock();
+                    }
+                }
+            }, "point-lock-benchmark-" + t);
+            workers.add(worker);
+            worker.start();
+        }
+        long begin = System.nanoTime();
+        start.countDown();
+        for (Thread worker : workers) {
+            worker.join();
+        }
+        long elapsed = System.nanoTime() - begin;
+        return new Result(elapsed / 1_000.0 / ((long) perThread * scenario.threads()), null);
+    }
+
+    private record Scenario(String name, int threads, int users) {
+    }
+
+    private record Result(double microsPerOp, LeaseUserLockProvider.LeaseStats stats) {
+    }
+}
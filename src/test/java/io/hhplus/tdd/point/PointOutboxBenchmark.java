@@ -0,0 +1,69 @@
+package io.hhplus.tdd.point;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+
+/**
+ * 충전/사용 한 건마다 outbox 추가에 드는 비용 측정 (README 4.6 표)
+ * 실행: ./gradlew benchmarkOutbox -Pevents=10000000
+ * 1스레드와 8스레드(스레드마다 다른 사용자)로 같은 수의 항목을 추가하고, 소비자는 측정이 끝난 뒤 한 번에 커밋한다.
+ */
+public class PointOutboxBenchmark {
+
+    private static final int ROUNDS = 5;
+
+    public static void main(String[] args) throws InterruptedException {
+        int events = (args.length > 0) ? Integer.parseInt(args[0]) : 2_000_000;
+        System.out.printf("라운드당 %,d건, %d라운드 중 마지막 라운드 기준%n%n", events, ROUNDS);
+        System.out.println("| 스레드 | 건당 지연 | 합계 처리량 |");
+        System.out.println("|---|---|---|");
+        for (int threads : new int[]{1, 8}) {
+            long nanos = 0;
+            for (int round = 0; round < ROUNDS; round++) {
+                nanos = run(events, threads);
+            }
+            System.out.printf("| %d | %.0f ns | %,.0f 건/s |%n",
+                    threads, (double) nanos * threads / events, events * 1e9 / nanos);
+        }
+    }
+
+    //목적 : threads개 스레드가 events건을 나눠 추가하는 데 걸린 시간(ns)
+    private static long run(int events, int threads) throws InterruptedException {
+        PointOutbox outbox = new PointOutbox(true, Long.MAX_VALUE);
+        outbox.register("benchmark");
+        int perThread = events / threads;
+        CountDownLatch start = new CountDownLatch(1);
+        List<Thread> workers = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            long userId = t + 1;
+            PointChangedEvent[] changes = new PointChangedEvent[1024];
+            for (int i = 0; i < changes.length; i++) {
+                changes[i] = new PointChangedEvent(new UserPoint(userId, 1000L * i, i),
+                        new PointHistory(i, userId, 1000L, TransactionType.CHARGE, i));
+            }
+            Thread worker = new Thread(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+                for (int i = 0; i < perThread; i++) {
+                    outbox.onPointChanged(changes[i & (changes.length - 1)]);
+                }
+            });
+            workers.add(worker);
+            worker.start();
+        }
+
+        long begin = System.nanoTime();
+        start.countDown();
+        for (Thread worker : workers) {
+            worker.join();
+        }
+        long elapsed = System.nanoTime() - begin;
+        outbox.commit("benchmark", (long) perThread * threads);
+        return elapsed;
+    }
+}
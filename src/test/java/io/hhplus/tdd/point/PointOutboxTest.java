@@ -0,0 +1,162 @@
+package io.hhplus.tdd.point;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class PointOutboxTest {
+
+    private final PointOutbox outbox = new PointOutbox(true, 1_000_000L);
+
+    @Test
+    @DisplayName("커밋된 충전/사용만 offset 순서대로 outbox에 쌓인다")
+    public void onPointChanged_AppendsCommittedChanges() {
+        //given
+        outbox.register("consumer");
+
+        //when
+        outbox.onPointChanged(changed(1L, 1L, 5000L, TransactionType.CHARGE, 5000L));
+        outbox.onPointChanged(new PointChangedEvent(new UserPoint(2L, 3000L, 1L), null));
+        outbox.onPointChanged(changed(2L, 1L, 1000L, TransactionType.USE, 4000L));
+
+        //then
+        List<PointOutbox.OutboxEvent> events = outbox.read(0L, 10);
+        assertThat(events).extracting(PointOutbox.OutboxEvent::offset).containsExactly(0L, 1L);
+        assertThat(events).extracting(PointOutbox.OutboxEvent::balance).containsExactly(5000L, 4000L);
+        assertThat(events.get(1).type()).isEqualTo(TransactionType.USE);
+    }
+
+    @Test
+    @DisplayName("가장 느린 소비자가 커밋한 offset 이전의 항목만 제거한다")
+    public void commit_TrimsBelowSlowestConsumer() {
+        //given
+        outbox.register("fast");
+        outbox.register("slow");
+        int count = 10_000;
+        for (int i = 0; i < count; i++) {
+            outbox.onPointChanged(changed(i, 1L, 1000L, TransactionType.CHARGE, 1000L));
+        }
+
+        //when
+        outbox.commit("fast", count);
+        outbox.commit("slow", 5_000L);
+
+        //then
+        PointOutbox.OutboxStats stats = outbox.stats();
+        assertThat(stats.appended()).isEqualTo(count);
+        assertThat(stats.pending()).isEqualTo(5_000L);
+        assertThat(stats.retainedFrom()).isGreaterThan(0L).isLessThanOrEqualTo(5_000L);
+        assertThat(outbox.read(outbox.committedOffset("slow"), 1).get(0).offset()).isEqualTo(5_000L);
+        assertThatThrownBy(() -> outbox.read(0L, 1))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    @DisplayName("여러 스레드가 동시에 추가해도 offset은 빈 칸이나 중복 없이 이어진다")
+    public void onPointChanged_ConcurrentAppendsAreContiguous() throws Exception {
+        //given
+        outbox.register("consumer");
+        int threadCount = 8;
+        int appendsPerThread = 5_000;
+        CountDownLatch start = new CountDownLatch(1);
+        List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < threadCount; t++) {
+            long userId = t;
+            Thread thread = new Thread(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+                for (int i = 0; i < appendsPerThread; i++) {
+                    outbox.onPointChanged(changed(i, userId, 1000L, TransactionType.CHARGE, 1000L));
+                }
+            });
+            threads.add(thread);
+            thread.start();
+        }
+
+        //when
+        start.countDown();
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        //then
+        int total = threadCount * appendsPerThread;
+        List<PointOutbox.OutboxEvent> events = outbox.read(0L, total);
+        assertThat(events).hasSize(total);
+        boolean contiguous = true;
+        for (int i = 0; i < total; i++) {
+            contiguous &= events.get(i).offset() == i;
+        }
+        assertThat(contiguous).isTrue();
+        outbox.commit("consumer", total);
+        assertThat(outbox.stats().pending()).isZero();
+    }
+
+    @Test
+    @DisplayName("용량을 넘어도 커밋된 변경은 버리지 않고, 소비자가 따라올 때까지 hasCapacity는 false다")
+    public void onPointChanged_OverCapacityKeepsEventsAndReportsFull() {
+        //given
+        PointOutbox smallOutbox = new PointOutbox(true, 3L);
+        smallOutbox.register("consumer");
+
+        //when
+        for (int i = 0; i < 5; i++) {
+            smallOutbox.onPointChanged(changed(i, 1L, 1000L, TransactionType.CHARGE, 1000L));
+        }
+
+        //then
+        assertThat(smallOutbox.hasCapacity()).isFalse();
+        assertThat(smallOutbox.stats().overCapacityAppends()).isEqualTo(2L);
+        assertThat(smallOutbox.read(0L, 10)).extracting(PointOutbox.OutboxEvent::offset)
+                .containsExactly(0L, 1L, 2L, 3L, 4L);
+        smallOutbox.commit("consumer", 3L);
+        assertThat(smallOutbox.hasCapacity()).isTrue();
+    }
+
+    @Test
+    @DisplayName("sink 전송이 실패하면 같은 배치를 다시 보내고, 성공한 뒤에만 offset을 커밋한다")
+    public void relay_RedeliversFailedBatch() throws Exception {
+        //given
+        AtomicInteger attempts = new AtomicInteger();
+        List<Long> delivered = Collections.synchronizedList(new ArrayList<>());
+        PointEventSink flakySink = batch -> {
+            if (attempts.incrementAndGet() == 1) {
+                throw new IllegalStateException("sink unavailable");
+            }
+            batch.forEach(event -> delivered.add(event.offset()));
+        };
+        for (int i = 0; i < 5; i++) {
+            outbox.onPointChanged(changed(i, 1L, 1000L, TransactionType.CHARGE, 1000L * (i + 1)));
+        }
+
+        //when
+        PointOutboxRelay relay = new PointOutboxRelay(outbox, flakySink, "relay", 100, 5, 10);
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (relay.stats().pending() > 0 && System.nanoTime() < deadline) {
+            TimeUnit.MILLISECONDS.sleep(5);
+        }
+        relay.shutdown();
+
+        //then
+        assertThat(delivered).containsExactly(0L, 1L, 2L, 3L, 4L);
+        assertThat(relay.stats().failures()).isEqualTo(1L);
+        assertThat(relay.stats().committedOffset()).isEqualTo(5L);
+    }
+
+    private static PointChangedEvent changed(long historyId, long userId, long amount, TransactionType type,
+                                             long balance) {
+        return new PointChangedEvent(new UserPoint(userId, balance, historyId),
+                new PointHistory(historyId, userId, amount, type, historyId));
+    }
+}
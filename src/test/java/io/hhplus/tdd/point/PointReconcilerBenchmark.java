@@ -0,0 +1,59 @@
+package io.hhplus.tdd.point;
+
+import io.hhplus.tdd.database.PointHistoryTable;
+import io.hhplus.tdd.database.UserPointTable;
+
+/**
+ * 정합성 점검 1회에 걸리는 시간 측정 (README 4.7)
+ * 실행: ./gradlew benchmarkReconciliation -Phistories=10000000 -Pusers=1000000
+ * 테이블 지연을 빼기 위해 PointHistoryLog와 PointSnapshotStore를 커밋 순서(내역 추가 → 잔액 기록)대로 직접 채운다.
+ * 불일치가 없으므로 재확인 단계는 테이블을 읽지 않는다.
+ */
+public class PointReconcilerBenchmark {
+
+    private static final int ROUNDS = 5;
+
+    public static void main(String[] args) {
+        int histories = (args.length > 0) ? Integer.parseInt(args[0]) : 10_000_000;
+        int users = (args.length > 1) ? Integer.parseInt(args[1]) : 1_000_000;
+        int parallelism = (args.length > 2) ? Integer.parseInt(args[2]) : 0;
+
+        PointHistoryLog pointHistoryLog = new PointHistoryLog();
+        PointSnapshotStore pointSnapshotStore = new PointSnapshotStore(pointHistoryLog);
+        fill(pointHistoryLog, pointSnapshotStore, histories, users);
+        PointReconciler pointReconciler = new PointReconciler(pointSnapshotStore, pointHistoryLog,
+                new UserPointTable(), new PointHistoryTable(), new UserLockManager(new InMemoryUserLockProvider()),
+                () -> true, parallelism, 100, 0L, 1 << 14);
+
+        System.out.printf("내역 %,d건, 사용자 %,d명, 코어 %d개, %d라운드%n%n", histories, users,
+                Runtime.getRuntime().availableProcessors(), ROUNDS);
+        System.out.println("| 라운드 | 소요 시간 | 순회 처리량 | 불일치 후보 |");
+        System.out.println("|---|---|---|---|");
+        try {
+            for (int round = 1; round <= ROUNDS; round++) {
+                PointReconciler.ReconciliationReport report = pointReconciler.reconcile();
+                System.out.printf("| %d | %,d ms | %,.0f 건/s | %,d |%n", round, report.elapsedMillis(),
+                        report.historiesPerSecond(), report.driftCandidates());
+            }
+        } finally {
+            pointReconciler.shutdown();
+        }
+    }
+
+    //목적 : 사용자를 돌아가며 충전 3건마다 사용 1건을 기록하고, 커밋처럼 잔액과 내역 수를 스냅샷 저장소에 반영
+    private static void fill(PointHistoryLog pointHistoryLog, PointSnapshotStore pointSnapshotStore,
+                             int histories, int users) {
+        long[] balances = new long[users];
+        long updateMillis = System.currentTimeMillis();
+        for (int i = 0; i < histories; i++) {
+            int index = i % users;
+            long userId = index + 1L;
+            boolean use = (i / users) % 4 == 3;
+            long amount = use ? 500L : 1000L;
+            balances[index] += use ? -amount : amount;
+            pointHistoryLog.append(new PointHistory(i + 1L, userId,
+                    amount, use ? TransactionType.USE : TransactionType.CHARGE, updateMillis));
+            pointSnapshotStore.recordPoint(new UserPoint(userId, balances[index], updateMillis), true);
+        }
+    }
+}
@@ -0,0 +1,183 @@
+package io.hhplus.tdd.point;
+
+import static org.assertj.core.api.Assertions.*;
+
+import io.hhplus.tdd.ServiceUnavailableException;
+import io.hhplus.tdd.database.PointHistoryTable;
+import io.hhplus.tdd.database.UserPointTable;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class PointReconcilerTest {
+
+    private final AtomicBoolean ready = new AtomicBoolean(true);
+    private PointService pointService;
+    private UserPointTable userPointTable;
+    private PointHistoryTable pointHistoryTable;
+    private UserLockManager lockManager;
+    private PointHistoryLog pointHistoryLog;
+    private PointSnapshotStore pointSnapshotStore;
+    private PointReconciler pointReconciler;
+
+    @BeforeEach
+    void setUp() {
+        userPointTable = new UserPointTable();
+        pointHistoryTable = new PointHistoryTable();
+        lockManager = new UserLockManager(new InMemoryUserLockProvider());
+        pointHistoryLog = new PointHistoryLog();
+        pointSnapshotStore = new PointSnapshotStore(pointHistoryLog);
+        pointService = new PointServiceFixture()
+                .userPointTable(userPointTable)
+                .pointHistoryTable(pointHistoryTable)
+                .lockManager(lockManager)
+                .pointHistoryLog(pointHistoryLog)
+                .pointSnapshotStore(pointSnapshotStore)
+                .build();
+        pointReconciler = new PointReconciler(pointSnapshotStore, pointHistoryLog, userPointTable, pointHistoryTable,
+                lockManager, ready::get, 2, 100, 0L, 1 << 14);
+
+        pointService.chargePoint(1L, 5000L);
+        pointService.usePoint(1L, 1000L);
+        pointService.chargePoint(2L, 2000L);
+    }
+
+    @AfterEach
+    void tearDown() {
+        pointReconciler.shutdown();
+    }
+
+    @Test
+    @DisplayName("잔액과 내역 합계가 모두 일치하면 불일치가 없다")
+    public void reconcile_NoDrift() {
+        //when
+        PointReconciler.ReconciliationReport report = pointReconciler.reconcile();
+
+        //then
+        assertThat(report.historiesScanned()).isEqualTo(3L);
+        assertThat(report.usersChecked()).isEqualTo(2L);
+        assertThat(report.driftCandidates()).isZero();
+        assertThat(report.drifts()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("스냅샷 시점에 내역만 기록되고 잔액이 반영되지 않은 커밋은 불일치로 보지 않는다")
+    public void reconcile_IgnoresInFlightCommit() {
+        //given: 커밋 도중(내역 기록 후, 잔액 반영 전)에 스냅샷이 열린 상황
+        pointHistoryLog.append(new PointHistory(99L, 2L, 1000L, TransactionType.CHARGE, System.currentTimeMillis()));
+
+        //when
+        PointReconciler.ReconciliationReport report = pointReconciler.reconcile();
+
+        //then
+        assertThat(report.historiesScanned()).isEqualTo(4L);
+        assertThat(report.driftCandidates()).isZero();
+    }
+
+    @Test
+    @DisplayName("잔액이 내역 합계와 다르면 사용자 Lock 안에서 재확인한 뒤 불일치로 보고한다")
+    public void reconcile_ReportsConfirmedDrift() {
+        //given: 내역 없이 잔액만 바뀐 상황
+        UserPoint tampered = userPointTable.insertOrUpdate(1L, 9_999L);
+        pointSnapshotStore.recordPoint(tampered, false);
+
+        //when
+        PointReconciler.ReconciliationReport report = pointReconciler.reconcile();
+
+        //then
+        assertThat(report.confirmedDrifts()).isEqualTo(1L);
+        assertThat(report.drifts()).containsExactly(new PointReconciler.Drift(1L, 9_999L, 4_000L, 2L, true));
+        assertThat(pointReconciler.progress().lastReport()).isEqualTo(report);
+    }
+
+    @Test
+    @DisplayName("구간을 잘게 나눠 여러 구간에 걸친 사용자의 합계를 양방향으로 병합해도 결과가 같다")
+    public void reconcile_SmallLeavesMergeBothWays() {
+        //given: 구간 길이 8 기준으로
+        // [0, 16) 사용자 1만, [16, 32) 사용자 2~17 (작은 왼쪽을 오른쪽에 병합하며 테이블이 커진다),
+        // [32, 64) 사용자 1, 2 번갈아 (작은 오른쪽을 왼쪽에 병합)
+        PointHistoryLog log = new PointHistoryLog();
+        PointSnapshotStore store = new PointSnapshotStore(log);
+        Map<Long, Long> balances = new HashMap<>();
+        for (int i = 0; i < 63; i++) {
+            long userId = (i < 16) ? 1L : (i < 32) ? i - 14L : (i % 2 == 0) ? 1L : 2L;
+            append(log, store, balances, userId, i);
+        }
+        // 마지막 내역은 사용자 2의 진행 중 커밋 (내역만 기록되고 잔액은 아직 반영되지 않음)
+        log.append(new PointHistory(63L, 2L, 163L, TransactionType.CHARGE, 63L));
+        // 사용자 1은 내역 없이 잔액만 바뀐 상황
+        store.recordPoint(new UserPoint(1L, balances.get(1L) + 1, 0L), false);
+        PointReconciler reconciler = new PointReconciler(store, log, userPointTable, pointHistoryTable,
+                lockManager, ready::get, 2, 0, 0L, 4);
+
+        //when
+        PointReconciler.ReconciliationReport report;
+        try {
+            report = reconciler.reconcile();
+        } finally {
+            reconciler.shutdown();
+        }
+
+        //then
+        assertThat(report.historiesScanned()).isEqualTo(64L);
+        assertThat(report.usersChecked()).isEqualTo(17L);
+        assertThat(report.driftCandidates()).isEqualTo(1L);
+        assertThat(report.drifts()).containsExactly(
+                new PointReconciler.Drift(1L, balances.get(1L) + 1, balances.get(1L), 32L, false));
+    }
+
+    @Test
+    @DisplayName("초기 데이터 적재가 끝나기 전에는 점검을 거절한다")
+    public void reconcile_RefusedUntilSeeded() {
+        //given
+        ready.set(false);
+
+        //when & then
+        assertThatThrownBy(() -> pointReconciler.reconcile()).isInstanceOf(ServiceUnavailableException.class);
+        assertThatThrownBy(() -> pointReconciler.start()).isInstanceOf(ServiceUnavailableException.class);
+        assertThat(pointReconciler.progress().running()).isFalse();
+        assertThat(pointReconciler.progress().lastReport()).isNull();
+    }
+
+    @Test
+    @DisplayName("주기 점검은 초기 데이터 적재 중에는 건너뛰고, 적재가 끝나면 실행된다")
+    public void scheduled_SkipsUntilSeeded() throws InterruptedException {
+        //given
+        ready.set(false);
+        PointReconciler scheduled = new PointReconciler(pointSnapshotStore, pointHistoryLog, userPointTable,
+                pointHistoryTable, lockManager, ready::get, 2, 100, 10L, 1 << 14);
+
+        try {
+            //when
+            TimeUnit.MILLISECONDS.sleep(100);
+            PointReconciler.ReconciliationReport beforeReady = scheduled.progress().lastReport();
+            ready.set(true);
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+            while (scheduled.progress().lastReport() == null && System.nanoTime() < deadline) {
+                TimeUnit.MILLISECONDS.sleep(10);
+            }
+
+            //then
+            assertThat(beforeReady).isNull();
+            assertThat(scheduled.progress().lastReport()).isNotNull();
+            assertThat(scheduled.progress().lastReport().driftCandidates()).isZero();
+        } finally {
+            scheduled.shutdown();
+        }
+    }
+
+    //목적 : 내역을 로그에 추가하고 커밋된 잔액을 스냅샷 저장소에 기록 (테이블 지연 없이 로그만 구성)
+    private static void append(PointHistoryLog log, PointSnapshotStore store, Map<Long, Long> balances,
+                               long userId, int index) {
+        TransactionType type = (index % 5 == 4) ? TransactionType.USE : TransactionType.CHARGE;
+        long amount = 100L + index;
+        log.append(new PointHistory(index, userId, amount, type, index));
+        long balance = balances.merge(userId, (type == TransactionType.CHARGE) ? amount : -amount, Long::sum);
+        store.recordPoint(new UserPoint(userId, balance, index), true);
+    }
+}
@@ -0,0 +1,104 @@
+package io.hhplus.tdd.point;
+
+import io.hhplus.tdd.database.PointHistoryTable;
+import io.hhplus.tdd.database.UserPointTable;
+import org.springframework.context.ApplicationEventPublisher;
+
+/**
+ * 테스트와 벤치마크에서 PointService를 조립하는 빌더
+ * 바꾸지 않은 의존성은 기본값(메모리 Lock, 비관적 모드, 헤지 조회 끔, 이벤트 무시)으로 채우고,
+ * 헤지 조회기와 스냅샷 저장소는 build 시점의 테이블과 내역 로그로 만든다.
+ */
+class PointServiceFixture {
+
+    private UserPointTable userPointTable = new UserPointTable();
+    private PointHistoryTable pointHistoryTable = new PointHistoryTable();
+    private UserLockManager lockManager = new UserLockManager(new InMemoryUserLockProvider());
+    private KnownUserFilter knownUserFilter = new KnownUserFilter(1_000L, 0.01);
+    private PointHistoryLog pointHistoryLog = new PointHistoryLog();
+    private UserVersionManager versionManager = new UserVersionManager();
+    private ApplicationEventPublisher eventPublisher = event -> {};
+    private UserPointCache userPointCache = new UserPointCache(true, 1_000L, 0L);
+    private PointSnapshotStore pointSnapshotStore;
+    private OptimisticRetryPolicy retryPolicy = new OptimisticRetryPolicy(ConcurrencyMode.PESSIMISTIC, 3, 500L);
+
+    PointServiceFixture userPointTable(UserPointTable userPointTable) {
+        this.userPointTable = userPointTable;
+        return this;
+    }
+
+    PointServiceFixture pointHistoryTable(PointHistoryTable pointHistoryTable) {
+        this.pointHistoryTable = pointHistoryTable;
+        return this;
+    }
+
+    PointServiceFixture lockManager(UserLockManager lockManager) {
+        this.lockManager = lockManager;
+        return this;
+    }
+
+    PointServiceFixture knownUserFilter(KnownUserFilter knownUserFilter) {
+        this.knownUserFilter = knownUserFilter;
+        return this;
+    }
+
+    PointServiceFixture pointHistoryLog(PointHistoryLog pointHistoryLog) {
+        this.pointHistoryLog = pointHistoryLog;
+        return this;
+    }
+
+    PointServiceFixture versionManager(UserVersionManager versionManager) {
+        this.versionManager = versionManager;
+        return this;
+    }
+
+    PointServiceFixture eventPublisher(ApplicationEventPublisher eventPublisher) {
+        this.eventPublisher = eventPublisher;
+        return this;
+    }
+
+    PointServiceFixture userPointCache(UserPointCache userPointCache) {
+        this.userPointCache = userPointCache;
+        return this;
+    }
+
+    /**
+     * 지정하지 않으면 build 시점의 내역 로그로 새로 만든다.
+     */
+    PointServiceFixture pointSnapshotStore(PointSnapshotStore pointSnapshotStore) {
+        this.pointSnapshotStore = pointSnapshotStore;
+        return this;
+    }
+
+    PointServiceFixture retryPolicy(OptimisticRetryPolicy retryPolicy) {
+        this.retryPolicy = retryPolicy;
+        return this;
+    }
+
+    PointService build() {
+        return build(PointService::new);
+    }
+
+    /**
+     * PointService를 상속한 테스트 대역도 같은 의존성으로 만들 수 있도록 생성자를 받는다.
+     */
+    <T extends PointService> T build(Constructor<T> constructor) {
+        PointSnapshotStore snapshotStore = (pointSnapshotStore != null)
+                ? pointSnapshotStore : new PointSnapshotStore(pointHistoryLog);
+        return constructor.create(userPointTable, pointHistoryTable, lockManager, knownUserFilter, pointHistoryLog,
+                versionManager, eventPublisher, new HedgedUserPointReader(userPointTable, false, 0L, 0.1, 1),
+                userPointCache, snapshotStore, retryPolicy);
+    }
+
+    /**
+     * PointService와 같은 인자를 받는 생성자
+     */
+    @FunctionalInterface
+    interface Constructor<T extends PointService> {
+        T create(UserPointTable userPointTable, PointHistoryTable pointHistoryTable, UserLockManager lockManager,
+                 KnownUserFilter knownUserFilter, PointHistoryLog pointHistoryLog,
+                 UserVersionManager versionManager, ApplicationEventPublisher eventPublisher,
+                 HedgedUserPointReader hedgedUserPointReader, UserPointCache userPointCache,
+                 PointSnapshotStore pointSnapshotStore, OptimisticRetryPolicy optimisticRetryPolicy);
+    }
+}
@@ -5,7 +5,12 @@ import static org.assertj.core.api.Assertions.*;
 
 import io.hhplus.tdd.database.PointHistoryTable;
 import io.hhplus.tdd.database.UserPointTable;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.Lock;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
@@ -19,6 +24,7 @@ public class PointServiceTest {
     private UserPointTable userPointTable;
     private PointHistoryTable pointHistoryTable;
     private UserLockManager lockManager;
+    private KnownUserFilter knownUserFilter;
 
     // DB 상태 시각화 헬퍼 메서드
     private void printUserPointTable(String title) {
@@ -59,22 +65,31 @@ public class PointServiceTest {
     void setUp(){
         pointHistoryTable = new PointHistoryTable();
         userPointTable = new UserPointTable();
-        lockManager = new UserLockManager();
-        pointService = new PointService(userPointTable, pointHistoryTable, lockManager);
+        lockManager = new UserLockManager(new InMemoryUserLockProvider());
+        knownUserFilter = new KnownUserFilter(1_000L, 0.01);
+        pointService = new PointServiceFixture()
+                .userPointTable(userPointTable)
+                .pointHistoryTable(pointHistoryTable)
+                .lockManager(lockManager)
+                .knownUserFilter(knownUserFilter)
+                .build();
 
         // 더미 데이터 생성
 
         // 사용자 1: 5000 포인트 보유
         userPointTable.insertOrUpdate(1L, 5000L);
+        knownUserFilter.put(1L);
         pointHistoryTable.insert(1L, 5000L, TransactionType.CHARGE, System.currentTimeMillis());
 
         // 사용자 2: 10000 포인트 보유, 충전 및 사용 내역 있음
         userPointTable.insertOrUpdate(2L, 10000L);
+        knownUserFilter.put(2L);
         pointHistoryTable.insert(2L, 15000L, TransactionType.CHARGE, System.currentTimeMillis());
         pointHistoryTable.insert(2L, 5000L, TransactionType.USE, System.currentTimeMillis());
 
         // 사용자 3: 0 포인트 (빈 계정)
         userPointTable.insertOrUpdate(3L, 0L);
+        knownUserFilter.put(3L);
     }
 
     @Test
@@ -171,6 +186,279 @@ public class PointServiceTest {
                 .hasMessageContaining("잔고가 부족합니다");
     }
 
+    @Nested
+    @DisplayName("기록된 적 없는 사용자 조회")
+    class UnknownUserTest {
+
+        private final AtomicInteger selectByIdCount = new AtomicInteger();
+        private final AtomicInteger selectHistoriesCount = new AtomicInteger();
+        private final AtomicInteger getLockCount = new AtomicInteger();
+        private PointService countingPointService;
+
+        //목적 : 테이블 조회와 Lock 획득 횟수를 세는 테이블/Lock 제공자로 서비스 구성
+        @BeforeEach
+        void setUpCounting() {
+            UserPointTable countingUserPointTable = new UserPointTable() {
+                @Override
+                public UserPoint selectById(Long id) {
+                    selectByIdCount.incrementAndGet();
+                    return super.selectById(id);
+                }
+            };
+            PointHistoryTable countingPointHistoryTable = new PointHistoryTable() {
+                @Override
+                public List<PointHistory> selectAllByUserId(long userId) {
+                    selectHistoriesCount.incrementAndGet();
+                    return super.selectAllByUserId(userId);
+                }
+            };
+            InMemoryUserLockProvider lockProvider = new InMemoryUserLockProvider();
+            UserLockProvider countingLockProvider = userId -> {
+                getLockCount.incrementAndGet();
+                return lockProvider.getLock(userId);
+            };
+            countingPointService = new PointServiceFixture()
+                    .userPointTable(countingUserPointTable)
+                    .pointHistoryTable(countingPointHistoryTable)
+                    .lockManager(new UserLockManager(countingLockProvider))
+                    .build();
+        }
+
+        @Test
+        @DisplayName("기록된 적 없는 사용자는 테이블 조회와 Lock 없이 빈 포인트와 빈 내역을 반환한다")
+        public void getUserPoint_ReturnsEmptyForUnknownUser() throws Exception {
+            //given
+            long userId = 12345L;
+
+            //when
+            UserPoint userPoint = countingPointService.getUserPoint(userId);
+            List<PointHistory> histories = countingPointService.getUserPointHistory(userId);
+
+            //then
+            assertThat(userPoint.point()).isZero();
+            assertThat(histories).isEmpty();
+            assertThat(selectByIdCount.get()).isZero();
+            assertThat(selectHistoriesCount.get()).isZero();
+            assertThat(getLockCount.get()).isZero();
+        }
+
+        @Test
+        @DisplayName("충전한 사용자는 이후 조회에서 Lock을 잡고 충전된 포인트가 조회된다")
+        public void getUserPoint_AfterFirstCharge() throws Exception {
+            //given
+            long userId = 12345L;
+            countingPointService.chargePoint(userId, 1000L);
+            int locksAfterCharge = getLockCount.get();
+
+            //when
+            UserPoint userPoint = countingPointService.getUserPoint(userId);
+            List<PointHistory> histories = countingPointService.getUserPointHistory(userId);
+
+            //then
+            assertThat(userPoint.point()).isEqualTo(1000L);
+            assertThat(histories).hasSize(1);
+            assertThat(selectHistoriesCount.get()).isEqualTo(1);
+            assertThat(getLockCount.get()).isGreaterThan(locksAfterCharge);
+        }
+    }
+
+    @Nested
+    @DisplayName("동시 조회 합치기 테스트")
+    class SingleFlightReadTest {
+
+        private final AtomicInteger selectByIdCount = new AtomicInteger();
+        private final CountDownLatch selecting = new CountDownLatch(1);
+        private final CountDownLatch release = new CountDownLatch(1);
+        private UserPointTable blockingUserPointTable;
+        private PointService singleFlightPointService;
+
+        //목적 : 첫 selectById를 release 전까지 막는 테이블과 캐시를 끈 서비스 구성 (합치기 효과만 확인)
+        @BeforeEach
+        void setUpSingleFlight() {
+            blockingUserPointTable = new UserPointTable() {
+                @Override
+                public UserPoint selectById(Long id) {
+                    if (selectByIdCount.incrementAndGet() == 1) {
+                        selecting.countDown();
+                        try {
+                            release.await();
+                        } catch (InterruptedException e) {
+                            Thread.currentThread().interrupt();
+                        }
+                    }
+                    return super.selectById(id);
+                }
+            };
+            blockingUserPointTable.insertOrUpdate(1L, 5000L);
+            KnownUserFilter filter = new KnownUserFilter(1_000L, 0.01);
+            filter.put(1L);
+            singleFlightPointService = new PointServiceFixture()
+                    .userPointTable(blockingUserPointTable)
+                    .pointHistoryTable(pointHistoryTable)
+                    .lockManager(lockManager)
+                    .knownUserFilter(filter)
+                    .userPointCache(new UserPointCache(false, 1_000L, 0L))
+                    .build();
+        }
+
+        @Test
+        @DisplayName("같은 사용자를 동시에 조회하면 테이블 조회는 한 번만 실행된다")
+        public void getUserPoint_ConcurrentReadersShareOneSelect() throws Exception {
+            //given
+            int readerCount = 10;
+            long[] results = new long[readerCount];
+            List<Thread> readers = new ArrayList<>();
+
+            //when
+            for (int i = 0; i < readerCount; i++) {
+                int index = i;
+                Thread reader = new Thread(() -> results[index] = singleFlightPointService.getUserPoint(1L).point());
+                readers.add(reader);
+                reader.start();
+            }
+            selecting.await();
+            awaitWaiting(readers);
+            release.countDown();
+            for (Thread reader : readers) {
+                reader.join();
+            }
+
+            //then
+            assertThat(selectByIdCount.get()).isEqualTo(1);
+            assertThat(results).containsOnly(5000L);
+        }
+
+        @Test
+        @DisplayName("쓰기 이후 도착한 조회는 쓰기 이전에 시작된 조회에 합류하지 않고 새 값을 읽는다")
+        public void getUserPoint_WriteDetachesInFlightRead() throws Exception {
+            //given
+            release.countDown();
+            Lock lock = lockManager.getLock(1L);
+            lock.lock();
+            Thread staleReader;
+            long[] staleResult = new long[1];
+            try {
+                // Lock을 기다리는 조회가 실행 중인 상태로 만든다
+                staleReader = new Thread(() -> staleResult[0] = singleFlightPointService.getUserPoint(1L).point());
+                staleReader.start();
+                awaitWaiting(List.of(staleReader));
+
+                //when
+                singleFlightPointService.chargePoint(1L, 1000L);
+            } finally {
+                lock.unlock();
+            }
+            UserPoint fresh = singleFlightPointService.getUserPoint(1L);
+            staleReader.join();
+
+            //then
+            assertThat(fresh.point()).isEqualTo(6000L);
+            assertThat(staleResult[0]).isEqualTo(6000L);
+            assertThat(selectByIdCount.get()).isEqualTo(3);
+        }
+
+        //목적 : 스레드들이 모두 대기 상태(Lock 또는 진행 중인 조회 대기)가 될 때까지 기다림
+        private void awaitWaiting(List<Thread> threads) {
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(2);
+            while (!threads.stream().allMatch(thread -> thread.getState() == Thread.State.WAITING)) {
+                if (System.nanoTime() > deadline) {
+                    fail("조회가 대기 상태가 되지 않았습니다");
+                }
+                Thread.onSpinWait();
+            }
+        }
+    }
+
+    @Nested
+    @DisplayName("포인트 캐시 테스트")
+    class CacheTest {
+
+        private final AtomicInteger selectByIdCount = new AtomicInteger();
+        private UserPointTable countingUserPointTable;
+
+        @BeforeEach
+        void setUpCache() {
+            countingUserPointTable = new UserPointTable() {
+                @Override
+                public UserPoint selectById(Long id) {
+                    selectByIdCount.incrementAndGet();
+                    return super.selectById(id);
+                }
+            };
+            countingUserPointTable.insertOrUpdate(1L, 5000L);
+        }
+
+        private PointService cachedPointService(UserPointCache cache) {
+            KnownUserFilter filter = new KnownUserFilter(1_000L, 0.01);
+            filter.put(1L);
+            return new PointServiceFixture()
+                    .userPointTable(countingUserPointTable)
+                    .pointHistoryTable(pointHistoryTable)
+                    .lockManager(lockManager)
+                    .knownUserFilter(filter)
+                    .userPointCache(cache)
+                    .build();
+        }
+
+        @Test
+        @DisplayName("한 번 조회한 사용자는 테이블 조회 없이 캐시에서 반환하고 적중으로 집계한다")
+        public void getUserPoint_HitsCacheAfterFirstRead() {
+            //given
+            UserPointCache cache = new UserPointCache(true, 1_000L, 0L);
+            PointService cachedPointService = cachedPointService(cache);
+
+            //when
+            UserPoint first = cachedPointService.getUserPoint(1L);
+            UserPoint second = cachedPointService.getUserPoint(1L);
+
+            //then
+            assertThat(first.point()).isEqualTo(5000L);
+            assertThat(second).isEqualTo(first);
+            assertThat(selectByIdCount.get()).isEqualTo(1);
+            UserPointCache.CacheMetrics metrics = cache.metrics();
+            assertThat(metrics.hits()).isEqualTo(1L);
+            assertThat(metrics.misses()).isEqualTo(1L);
+            assertThat(metrics.hitRate()).isEqualTo(0.5);
+            assertThat(metrics.size()).isEqualTo(1L);
+        }
+
+        @Test
+        @DisplayName("충전 결과는 캐시에 바로 반영되어 이후 조회와 사용은 테이블을 조회하지 않는다")
+        public void chargePoint_WritesThroughCache() {
+            //given
+            UserPointCache cache = new UserPointCache(true, 1_000L, 0L);
+            PointService cachedPointService = cachedPointService(cache);
+
+            //when
+            cachedPointService.chargePoint(1L, 1000L);
+            UserPoint afterCharge = cachedPointService.getUserPoint(1L);
+            UserPoint afterUse = cachedPointService.usePoint(1L, 500L);
+
+            //then
+            assertThat(afterCharge.point()).isEqualTo(6000L);
+            assertThat(afterUse.point()).isEqualTo(5500L);
+            assertThat(cache.getIfPresent(1L)).isEqualTo(afterUse);
+            // 충전 시 현재 포인트를 읽은 한 번만 테이블을 조회
+            assertThat(selectByIdCount.get()).isEqualTo(1);
+        }
+
+        @Test
+        @DisplayName("캐시를 끄면 조회할 때마다 테이블을 조회하고 캐시에 적재하지 않는다")
+        public void getUserPoint_BypassesDisabledCache() {
+            //given
+            UserPointCache cache = new UserPointCache(false, 1_000L, 0L);
+            PointService cachedPointService = cachedPointService(cache);
+
+            //when
+            cachedPointService.getUserPoint(1L);
+            cachedPointService.getUserPoint(1L);
+
+            //then
+            assertThat(selectByIdCount.get()).isEqualTo(2);
+            assertThat(cache.metrics().size()).isZero();
+        }
+    }
+
     @Nested
     @DisplayName("동시성 문제 테스트")
     class ConcurrencyTest {
@@ -335,6 +623,171 @@ public class PointServiceTest {
         }
     }
 
+    @Nested
+    @DisplayName("낙관적 동시성 제어 테스트")
+    class OptimisticConcurrencyTest {
+
+        private PointService optimisticPointService;
+
+        @BeforeEach
+        void setUpOptimistic() {
+            optimisticPointService = new PointServiceFixture()
+                    .userPointTable(userPointTable)
+                    .pointHistoryTable(pointHistoryTable)
+                    .lockManager(lockManager)
+                    .knownUserFilter(knownUserFilter)
+                    .retryPolicy(new OptimisticRetryPolicy(ConcurrencyMode.OPTIMISTIC, 2, 100L))
+                    .build();
+        }
+
+        @Test
+        @DisplayName("낙관적 모드에서 동시에 충전해도 모든 충전이 반영되어야 한다")
+        public void concurrentCharge_ShouldReflectAllCharges() throws Exception {
+            //given
+            long userId = 1L;
+            long chargeAmount = 1000L;
+            int threadCount = 10;
+            UserPoint before = userPointTable.selectById(userId);
+
+            //when
+            Thread[] threads = new Thread[threadCount];
+            for (int i = 0; i < threadCount; i++) {
+                threads[i] = new Thread(() -> optimisticPointService.chargePoint(userId, chargeAmount));
+                threads[i].start();
+            }
+            for (Thread thread : threads) {
+                thread.join();
+            }
+
+            //then
+            UserPoint after = userPointTable.selectById(userId);
+            assertThat(after.point()).isEqualTo(before.point() + chargeAmount * threadCount);
+        }
+
+        @Test
+        @DisplayName("낙관적 모드에서도 잔고가 부족하면 사용은 실패한다")
+        public void usePoint_FailsWhenInsufficientBalance() {
+            assertThatThrownBy(() -> optimisticPointService.usePoint(1L, 6000L))
+                    .isInstanceOf(IllegalArgumentException.class)
+                    .hasMessageContaining("잔고가 부족합니다");
+        }
+
+        @Nested
+        @DisplayName("충돌 주입")
+        class ConflictTest {
+
+            private InterferingUserPointTable interferingTable;
+            private OptimisticRetryPolicy retryPolicy;
+            private PointService conflictingPointService;
+
+            @BeforeEach
+            void setUpConflict() {
+                interferingTable = new InterferingUserPointTable();
+                interferingTable.insertOrUpdate(1L, 5000L);
+                PointHistoryLog pointHistoryLog = new PointHistoryLog();
+                // 두 서비스가 같은 버전, 내역 로그, 스냅샷을 공유해야 서로의 커밋을 충돌로 감지한다
+                // 캐시를 끄면 낙관적 조회가 항상 테이블을 거치므로, 조회 도중에 다른 커밋을 끼워 넣을 수 있다
+                PointServiceFixture fixture = new PointServiceFixture()
+                        .userPointTable(interferingTable)
+                        .pointHistoryTable(pointHistoryTable)
+                        .lockManager(lockManager)
+                        .knownUserFilter(knownUserFilter)
+                        .pointHistoryLog(pointHistoryLog)
+                        .versionManager(new UserVersionManager())
+                        .pointSnapshotStore(new PointSnapshotStore(pointHistoryLog))
+                        .userPointCache(new UserPointCache(false, 0L, 0L));
+                PointService otherPointService = fixture.build();
+                retryPolicy = new OptimisticRetryPolicy(ConcurrencyMode.OPTIMISTIC, 2, 1L);
+                conflictingPointService = fixture.retryPolicy(retryPolicy).build();
+                interferingTable.interference = () -> otherPointService.chargePoint(1L, 2000L);
+            }
+
+            @Test
+            @DisplayName("조회 도중 다른 커밋이 끼어들면 버전 비교에 실패하고 재시도하여 커밋한다")
+            public void chargePoint_RetriesAfterConflict() {
+                //given
+                interferingTable.interfere(1);
+
+                //when
+                UserPoint result = conflictingPointService.chargePoint(1L, 1000L);
+
+                //then
+                assertThat(result.point()).isEqualTo(8000L);
+                assertThat(interferingTable.callerReads.get()).isEqualTo(2);
+                assertThat(retryPolicy.stats().optimisticCommits()).isEqualTo(1L);
+                assertThat(retryPolicy.stats().conflicts()).isEqualTo(1L);
+                assertThat(retryPolicy.stats().fallbacks()).isZero();
+            }
+
+            @Test
+            @DisplayName("오래된 잔액으로 검증에 실패했으면 예외 대신 충돌로 보고 최신 잔액으로 재시도한다")
+            public void usePoint_RetriesWhenValidatedAgainstStaleBalance() {
+                //given
+                interferingTable.interfere(1);
+
+                //when
+                UserPoint result = conflictingPointService.usePoint(1L, 6000L);
+
+                //then
+                assertThat(result.point()).isEqualTo(1000L);
+                assertThat(retryPolicy.stats().optimisticCommits()).isEqualTo(1L);
+                assertThat(retryPolicy.stats().conflicts()).isEqualTo(1L);
+            }
+
+            @Test
+            @DisplayName("재시도를 모두 소진하면 비관적 Lock으로 전환하여 커밋한다")
+            public void chargePoint_FallsBackToPessimisticAfterRetries() {
+                //given
+                // 첫 시도 + max-retries(2)번 모두 충돌
+                interferingTable.interfere(3);
+
+                //when
+                UserPoint result = conflictingPointService.chargePoint(1L, 1000L);
+
+                //then
+                assertThat(result.point()).isEqualTo(5000L + 3 * 2000L + 1000L);
+                assertThat(interferingTable.callerReads.get()).isEqualTo(4);
+                assertThat(retryPolicy.stats().optimisticCommits()).isZero();
+                assertThat(retryPolicy.stats().conflicts()).isEqualTo(3L);
+                assertThat(retryPolicy.stats().fallbacks()).isEqualTo(1L);
+            }
+        }
+    }
+
+    /**
+     * 지정한 스레드의 조회마다 다른 스레드에서 interference(다른 커밋)를 실행하고 끝날 때까지 기다리는 테이블
+     */
+    private static class InterferingUserPointTable extends UserPointTable {
+
+        private final AtomicInteger remaining = new AtomicInteger();
+        private final AtomicInteger callerReads = new AtomicInteger();
+        private volatile Thread caller;
+        private volatile Runnable interference;
+
+        void interfere(int times) {
+            caller = Thread.currentThread();
+            remaining.set(times);
+        }
+
+        @Override
+        public UserPoint selectById(Long id) {
+            UserPoint current = super.selectById(id);
+            if (Thread.currentThread() == caller) {
+                callerReads.incrementAndGet();
+                if (remaining.getAndDecrement() > 0) {
+                    Thread other = new Thread(interference);
+                    other.start();
+                    try {
+                        other.join();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                }
+            }
+            return current;
+        }
+    }
+
     @Nested
     @DisplayName("추가 비즈니스 정책 검증")
     class AdditionalPolicyTest {
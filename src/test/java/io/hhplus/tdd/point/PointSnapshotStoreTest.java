@@ -0,0 +1,104 @@
+package io.hhplus.tdd.point;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class PointSnapshotStoreTest {
+
+    private PointSnapshotStore snapshotStore;
+
+    @BeforeEach
+    void setUp() {
+        snapshotStore = new PointSnapshotStore(new PointHistoryLog());
+        snapshotStore.recordPoint(new UserPoint(1L, 5000L, 1L), true);
+        snapshotStore.recordPoint(new UserPoint(2L, 10000L, 1L), false);
+    }
+
+    @Test
+    @DisplayName("스냅샷은 열린 이후에 커밋된 변경을 보지 않는다")
+    public void snapshot_IgnoresLaterCommits() {
+        //given
+        try (PointSnapshotStore.Snapshot snapshot = snapshotStore.open()) {
+
+            //when
+            snapshotStore.recordPoint(new UserPoint(1L, 6000L, 2L), true);
+            snapshotStore.recordPoint(new UserPoint(3L, 1000L, 2L), true);
+
+            //then
+            List<UserPoint> points = new ArrayList<>();
+            snapshot.forEach(entry -> points.add(entry.userPoint()));
+            assertThat(points).extracting("id", "point")
+                    .containsExactlyInAnyOrder(tuple(1L, 5000L), tuple(2L, 10000L));
+            assertThat(snapshot.get(1L).historyCount()).isEqualTo(1L);
+        }
+    }
+
+    @Test
+    @DisplayName("새로 연 스냅샷은 이전에 커밋된 변경을 모두 본다")
+    public void snapshot_SeesCommitsBeforeOpen() {
+        //given
+        snapshotStore.recordPoint(new UserPoint(1L, 6000L, 2L), true);
+        snapshotStore.recordHistory(2L);
+
+        //when
+        try (PointSnapshotStore.Snapshot snapshot = snapshotStore.open()) {
+
+            //then
+            assertThat(snapshot.get(1L).userPoint().point()).isEqualTo(6000L);
+            assertThat(snapshot.get(1L).historyCount()).isEqualTo(2L);
+            assertThat(snapshot.get(2L).historyCount()).isEqualTo(1L);
+            assertThat(snapshot.get(3L)).isNull();
+        }
+    }
+
+    @Test
+    @DisplayName("열린 스냅샷이 읽는 버전은 정리되지 않고, 가장 오래된 스냅샷을 닫으면 그 이전 버전이 정리된다")
+    public void prune_RetainsVersionsOfOpenSnapshots() {
+        //given
+        PointSnapshotStore.Snapshot oldest = snapshotStore.open();
+        snapshotStore.recordPoint(new UserPoint(1L, 6000L, 2L), true);
+        PointSnapshotStore.Snapshot middle = snapshotStore.open();
+        for (long point = 7000L; point <= 10000L; point += 1000L) {
+            snapshotStore.recordPoint(new UserPoint(1L, point, 3L), true);
+        }
+        // oldest가 읽는 5000 버전부터 최신 10000 버전까지 유지
+        assertThat(snapshotStore.versionCount(1L)).isEqualTo(6);
+
+        //when
+        oldest.close();
+        snapshotStore.recordPoint(new UserPoint(1L, 11000L, 4L), true);
+
+        //then
+        assertThat(snapshotStore.versionCount(1L)).isEqualTo(6);
+        assertThat(middle.get(1L).userPoint().point()).isEqualTo(6000L);
+        assertThat(middle.get(1L).historyCount()).isEqualTo(2L);
+        assertThat(middle.get(2L).userPoint().point()).isEqualTo(10000L);
+        middle.close();
+    }
+
+    @Test
+    @DisplayName("열린 스냅샷이 없으면 다음 커밋에서 최신 버전만 남긴다")
+    public void prune_AfterSnapshotsClosed() {
+        //given
+        try (PointSnapshotStore.Snapshot snapshot = snapshotStore.open()) {
+            snapshotStore.recordPoint(new UserPoint(1L, 6000L, 2L), true);
+            snapshotStore.recordPoint(new UserPoint(1L, 7000L, 3L), true);
+            assertThat(snapshotStore.versionCount(1L)).isEqualTo(3);
+        }
+
+        //when
+        snapshotStore.recordHistory(1L);
+
+        //then
+        assertThat(snapshotStore.versionCount(1L)).isEqualTo(1);
+        try (PointSnapshotStore.Snapshot snapshot = snapshotStore.open()) {
+            assertThat(snapshot.get(1L).userPoint().point()).isEqualTo(7000L);
+            assertThat(snapshot.get(1L).historyCount()).isEqualTo(4L);
+        }
+    }
+}
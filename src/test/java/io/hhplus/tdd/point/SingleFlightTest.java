@@ -0,0 +1,142 @@
+package io.hhplus.tdd.point;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class SingleFlightTest {
+
+    private final SingleFlight<Long, Long> singleFlight = new SingleFlight<>();
+
+    @Test
+    @DisplayName("같은 키의 동시 호출은 loader를 한 번만 실행하고 결과를 공유한다")
+    public void execute_SharesInFlightResult() throws Exception {
+        //given
+        int followerCount = 9;
+        AtomicInteger loadCount = new AtomicInteger();
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+
+        //when
+        Future<Long> leader = executor.submit(() -> singleFlight.execute(1L, () -> {
+            loadCount.incrementAndGet();
+            loading.countDown();
+            await(release);
+            return 5000L;
+        }));
+        loading.await();
+        long[] results = new long[followerCount];
+        List<Thread> followers = new ArrayList<>();
+        for (int i = 0; i < followerCount; i++) {
+            int index = i;
+            Thread follower = new Thread(() -> results[index] = singleFlight.execute(1L, () -> {
+                loadCount.incrementAndGet();
+                return -1L;
+            }));
+            followers.add(follower);
+            follower.start();
+        }
+        // 모든 호출이 진행 중인 실행에 합류(대기)한 뒤에 loader를 끝낸다
+        awaitWaiting(followers);
+        release.countDown();
+
+        //then
+        assertThat(leader.get()).isEqualTo(5000L);
+        for (Thread follower : followers) {
+            follower.join();
+        }
+        assertThat(results).containsOnly(5000L);
+        assertThat(loadCount.get()).isEqualTo(1);
+        executor.shutdown();
+    }
+
+    @Test
+    @DisplayName("loader가 Error로 끝나도 합류한 호출은 같은 Error를 받고, 다음 호출은 새로 실행한다")
+    public void execute_CompletesFlightOnError() throws Exception {
+        //given
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        Future<Long> leader = executor.submit(() -> singleFlight.execute(1L, () -> {
+            loading.countDown();
+            await(release);
+            throw new StackOverflowError();
+        }));
+        loading.await();
+        Throwable[] followerError = new Throwable[1];
+        Thread follower = new Thread(() -> {
+            try {
+                singleFlight.execute(1L, () -> -1L);
+            } catch (Throwable t) {
+                followerError[0] = t;
+            }
+        });
+        follower.start();
+        awaitWaiting(List.of(follower));
+
+        //when
+        release.countDown();
+        follower.join(1_000L);
+
+        //then
+        assertThat(follower.isAlive()).isFalse();
+        assertThat(followerError[0]).isInstanceOf(StackOverflowError.class);
+        assertThatThrownBy(leader::get).hasCauseInstanceOf(StackOverflowError.class);
+        assertThat(singleFlight.execute(1L, () -> 6000L)).isEqualTo(6000L);
+        executor.shutdown();
+    }
+
+    @Test
+    @DisplayName("forget 이후의 호출은 진행 중인 실행에 합류하지 않고 새로 실행한다")
+    public void execute_StartsNewFlightAfterForget() throws Exception {
+        //given
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        Future<Long> stale = executor.submit(() -> singleFlight.execute(1L, () -> {
+            loading.countDown();
+            await(release);
+            return 5000L;
+        }));
+        loading.await();
+
+        //when
+        singleFlight.forget(1L);
+        Long fresh = singleFlight.execute(1L, () -> 6000L);
+        release.countDown();
+
+        //then
+        assertThat(fresh).isEqualTo(6000L);
+        assertThat(stale.get()).isEqualTo(5000L);
+        executor.shutdown();
+    }
+
+    //목적 : 스레드들이 모두 대기(진행 중인 실행에 합류) 상태가 될 때까지 기다림
+    static void awaitWaiting(List<Thread> threads) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(2);
+        while (!threads.stream().allMatch(thread -> thread.getState() == Thread.State.WAITING)) {
+            if (System.nanoTime() > deadline) {
+                fail("호출이 진행 중인 실행에 합류하지 않았습니다");
+            }
+            Thread.onSpinWait();
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}